@@ -0,0 +1,44 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.DeepHierarchy;
+import org.kin.framework.spring.benchmark.support.PlainBean;
+import org.kin.framework.spring.benchmark.support.ReferenceAnnotationBeanPostProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注入元数据构建(冷缓存)开销, 分别针对深层继承且带大量注入点的class, 以及不带注入点的class
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnnotatedMetadataBenchmark {
+    @Param({"deep", "plain"})
+    private String beanType;
+
+    private Class<?> beanClass;
+
+    @Setup
+    public void setup() {
+        beanClass = "deep".equals(beanType) ? DeepHierarchy.Leaf.class : PlainBean.class;
+    }
+
+    /**
+     * 每次使用新的post processor, 保证元数据缓存为空
+     */
+    @Benchmark
+    public Object buildAnnotatedMetadata() {
+        ReferenceAnnotationBeanPostProcessor processor = new ReferenceAnnotationBeanPostProcessor();
+        RootBeanDefinition beanDefinition = new RootBeanDefinition(beanClass);
+        processor.postProcessMergedBeanDefinition(beanDefinition, beanClass, "bean");
+        return beanDefinition;
+    }
+}
@@ -0,0 +1,61 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.beans.InjectionMetadataPreWarmer;
+import org.kin.framework.spring.benchmark.support.ReferenceHolder;
+import org.kin.framework.spring.benchmark.support.RemoteReferenceAnnotationBeanPostProcessor;
+import org.kin.framework.spring.benchmark.support.WideReferenceHolder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * context refresh耗时, 对比每个被注入对象单独访问一次注册中心与singleton实例化前批量获取
+ * {@link WideReferenceHolder}和{@link ReferenceHolder}各{@link #beanCount}个, 共68个不同的被注入对象
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchInjectionBenchmark {
+    /** 每种bean的数量 */
+    @Param({"10"})
+    private int beanCount;
+    /** 访问一次注册中心的耗时(微秒) */
+    @Param({"200", "1000"})
+    private long roundTripMicros;
+    /** 是否批量获取 */
+    @Param({"false", "true"})
+    private boolean batch;
+
+    private GenericApplicationContext context;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        context = new GenericApplicationContext();
+        context.registerBean(InjectionMetadataPreWarmer.class, () -> new InjectionMetadataPreWarmer(1));
+        context.registerBean(RemoteReferenceAnnotationBeanPostProcessor.class,
+                () -> new RemoteReferenceAnnotationBeanPostProcessor(roundTripMicros, batch));
+        for (int i = 0; i < beanCount; i++) {
+            context.registerBeanDefinition("wide" + i, new RootBeanDefinition(WideReferenceHolder.class));
+            context.registerBeanDefinition("holder" + i, new RootBeanDefinition(ReferenceHolder.class));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object refresh() {
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,83 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.Exported;
+import org.kin.framework.spring.benchmark.support.FactoryMethodConfiguration;
+import org.kin.framework.spring.beans.BeanDefinitionUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.ConfigurationClassPostProcessor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BeanDefinitionUtils}查询开销, 模拟框架代码对每个bean逐一查询factory method注解
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanDefinitionUtilsBenchmark {
+    /** 由factory method定义的bean的复制次数 */
+    @Param({"250", "2500"})
+    private int copies;
+
+    private DefaultListableBeanFactory beanFactory;
+    private String[] beanNames;
+
+    @Setup
+    public void setup() {
+        beanFactory = new DefaultListableBeanFactory();
+        new AnnotatedBeanDefinitionReader(beanFactory).register(FactoryMethodConfiguration.class);
+        ConfigurationClassPostProcessor postProcessor = new ConfigurationClassPostProcessor();
+        postProcessor.postProcessBeanDefinitionRegistry(beanFactory);
+
+        //复制factory method定义的bean
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
+            if (!(beanDefinition instanceof AbstractBeanDefinition) || beanDefinition.getFactoryMethodName() == null) {
+                continue;
+            }
+            for (int i = 0; i < copies; i++) {
+                beanFactory.registerBeanDefinition(beanName + i, ((AbstractBeanDefinition) beanDefinition).cloneBeanDefinition());
+            }
+        }
+        beanNames = beanFactory.getBeanDefinitionNames();
+    }
+
+    /**
+     * 查询所有bean的factory method注解属性
+     */
+    @Benchmark
+    public void getBeanFactoryMethodAnnoAttributes(Blackhole blackhole) {
+        for (String beanName : beanNames) {
+            blackhole.consume(BeanDefinitionUtils.getBeanFactoryMethodAnnoAttributes(beanFactory, beanName, Exported.class));
+        }
+    }
+
+    /**
+     * 判断所有bean的factory method是否带注解
+     */
+    @Benchmark
+    public void isBeanFactoryMethodAnnotated(Blackhole blackhole) {
+        for (String beanName : beanNames) {
+            blackhole.consume(BeanDefinitionUtils.isBeanFactoryMethodAnnotated(beanFactory, beanName, Exported.class));
+        }
+    }
+
+    /**
+     * 查询factory method带注解的所有bean
+     */
+    @Benchmark
+    public void getBeanNamesWithFactoryMethodAnno(Blackhole blackhole) {
+        blackhole.consume(BeanDefinitionUtils.getBeanNamesWithFactoryMethodAnno(beanFactory, Exported.class));
+    }
+}
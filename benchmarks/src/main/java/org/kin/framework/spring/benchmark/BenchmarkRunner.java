@@ -0,0 +1,32 @@
+package org.kin.framework.spring.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * benchmark入口, 支持jmh所有命令行参数
+ * 默认以json格式输出结果至jmh-result-${kin.benchmark.version}.json, 便于不同版本间对比
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class BenchmarkRunner {
+    /** 结果文件名中的版本号, 通过-Dkin.benchmark.version指定 */
+    private static final String VERSION = System.getProperty("kin.benchmark.version", "snapshot");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(cmdOptions)
+                .resultFormat(cmdOptions.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(cmdOptions.getResult().orElse("jmh-result-" + VERSION + ".json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,97 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.OnClassConfiguration;
+import org.kin.framework.spring.benchmark.support.OnPropertyConfiguration;
+import org.kin.framework.spring.benchmark.support.SimpleConditionContext;
+import org.kin.framework.spring.condition.ClassPresenceCondition;
+import org.kin.framework.spring.condition.ConditionOnClass;
+import org.kin.framework.spring.condition.ConditionOnProperty;
+import org.kin.framework.spring.condition.PropertyCondition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClassPresenceCondition}, {@link PropertyCondition}与每次都{@link Class#forName}或者{@link StandardEnvironment#getProperty}的naive实现对比
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClassAndPropertyConditionBenchmark {
+    private final ClassPresenceCondition classCondition = new ClassPresenceCondition();
+    private final PropertyCondition propertyCondition = new PropertyCondition();
+    private final AnnotationMetadata onClassMetadata = AnnotationMetadata.introspect(OnClassConfiguration.class);
+    private final AnnotationMetadata onPropertyMetadata = AnnotationMetadata.introspect(OnPropertyConfiguration.class);
+    private StandardEnvironment environment;
+    private SimpleConditionContext conditionContext;
+
+    @Setup
+    public void setup() {
+        environment = new StandardEnvironment();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("kin.benchmark.enabled", "true");
+        properties.put("kin.benchmark.cache.enabled", "true");
+        properties.put("kin.benchmark.metrics.enabled", "true");
+        //模拟多个配置来源
+        for (int i = 0; i < 8; i++) {
+            environment.getPropertySources().addLast(new MapPropertySource("benchmark" + i, new HashMap<>(properties)));
+        }
+        conditionContext = new SimpleConditionContext(new DefaultListableBeanFactory(), environment);
+    }
+
+    /**
+     * 模拟各模块自行实现的{@link org.springframework.context.annotation.Condition}, 同样需读取注解, 但每次都加载类
+     */
+    @Benchmark
+    public boolean naiveOnClass() {
+        ClassLoader classLoader = conditionContext.getClassLoader();
+        MergedAnnotation<ConditionOnClass> anno = onClassMetadata.getAnnotations().get(ConditionOnClass.class);
+        for (String className : anno.getStringArray("name")) {
+            try {
+                Class.forName(className, false, classLoader);
+            } catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean onClass() {
+        return classCondition.matches(conditionContext, onClassMetadata);
+    }
+
+    /**
+     * 模拟各模块自行实现的{@link org.springframework.context.annotation.Condition}, 同样需读取注解, 但每次都遍历所有property source
+     */
+    @Benchmark
+    public boolean naiveOnProperty() {
+        MergedAnnotation<ConditionOnProperty> anno = onPropertyMetadata.getAnnotations().get(ConditionOnProperty.class);
+        String prefix = anno.getString("prefix") + ".";
+        String havingValue = anno.getString("havingValue");
+        for (String name : anno.getStringArray("name")) {
+            if (!havingValue.equalsIgnoreCase(environment.getProperty(prefix + name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean onProperty() {
+        return propertyCondition.matches(conditionContext, onPropertyMetadata);
+    }
+}
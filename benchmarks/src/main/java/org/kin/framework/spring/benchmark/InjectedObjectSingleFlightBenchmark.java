@@ -0,0 +1,62 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.DeepHierarchy;
+import org.kin.framework.spring.benchmark.support.ReferenceAnnotationBeanPostProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.core.annotation.AnnotationAttributes;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 多线程并发创建bean时, 被注入对象的single-flight创建
+ * 每轮迭代使用新的post processor, 保证被注入对象缓存为空, 迭代结束时校验被注入对象没有被重复创建
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectedObjectSingleFlightBenchmark {
+    private final PropertyValues pvs = new MutablePropertyValues();
+    private volatile ReferenceAnnotationBeanPostProcessor processor;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        processor = new ReferenceAnnotationBeanPostProcessor() {
+            @Override
+            protected Object doGetInjectedBean(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                               InjectionMetadata.InjectedElement injectedElement) {
+                //模拟远程服务引用创建耗时
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                return super.doGetInjectedBean(attributes, bean, beanName, injectedType, injectedElement);
+            }
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        long duplicates = processor.getDuplicateInjectedObjectCreationCount();
+        System.out.println("created: " + processor.getInjectedObjectCreationCount() +
+                ", duplicates: " + duplicates + ", single-flight waits: " + processor.getSingleFlightWaitCount());
+        processor.destroy();
+        if (duplicates > 0) {
+            throw new IllegalStateException("injected objects were created more than once");
+        }
+    }
+
+    @Benchmark
+    public Object injectPrototype() {
+        DeepHierarchy.Leaf bean = new DeepHierarchy.Leaf();
+        processor.postProcessProperties(pvs, bean, "deepHierarchy");
+        return bean;
+    }
+}
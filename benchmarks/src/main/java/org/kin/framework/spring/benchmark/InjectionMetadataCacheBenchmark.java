@@ -0,0 +1,73 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.ReferenceAnnotationBeanPostProcessor;
+import org.kin.framework.spring.benchmark.support.ReferenceHolder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大量同类型bean的容器启动耗时, 用于衡量注入元数据缓存(按class共享)的收益
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectionMetadataCacheBenchmark {
+    /** 同类型bean数量 */
+    @Param({"2000", "10000"})
+    private int beanCount;
+
+    private GenericApplicationContext context;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        context = new GenericApplicationContext();
+        context.registerBean(ReferenceAnnotationBeanPostProcessor.class);
+        for (int i = 0; i < beanCount; i++) {
+            context.registerBeanDefinition("holder" + i, new RootBeanDefinition(ReferenceHolder.class));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 启动容器, 实例化所有singleton bean
+     */
+    @Benchmark
+    public GenericApplicationContext refresh() {
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * 启动容器后, 按prototype多次获取bean
+     */
+    @Benchmark
+    public Object refreshWithPrototypes() {
+        context.registerBeanDefinition("prototypeHolder", prototypeDefinition());
+        context.refresh();
+        Object last = null;
+        for (int i = 0; i < beanCount; i++) {
+            last = context.getBean("prototypeHolder");
+        }
+        return last;
+    }
+
+    private static RootBeanDefinition prototypeDefinition() {
+        RootBeanDefinition beanDefinition = new RootBeanDefinition(ReferenceHolder.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        return beanDefinition;
+    }
+}
@@ -0,0 +1,104 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.EchoService;
+import org.kin.framework.spring.benchmark.support.EchoServiceReference;
+import org.kin.framework.spring.benchmark.support.ReferenceAnnotationBeanPostProcessor;
+import org.kin.framework.spring.benchmark.support.ReferenceHolder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 注入点赋值方式对比, 反射 vs 编译后的{@link MethodHandle}, 以及prototype bean的端到端创建吞吐
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectorBenchmark {
+    private static final MethodType INJECT_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final ReferenceHolder holder = new ReferenceHolder();
+    private final EchoService injectedObject = new EchoServiceReference("echo");
+
+    private Field field;
+    private Method method;
+    private MethodHandle fieldSetter;
+    private MethodHandle methodInvoker;
+    private GenericApplicationContext context;
+
+    @Setup
+    public void setup() throws Exception {
+        field = ReferenceHolder.class.getDeclaredField("echo1");
+        method = ReferenceHolder.class.getMethod("setEcho4", EchoService.class);
+        ReflectionUtils.makeAccessible(field);
+        fieldSetter = MethodHandles.lookup().unreflectSetter(field).asType(INJECT_METHOD_TYPE);
+        methodInvoker = MethodHandles.lookup().unreflect(method).asType(INJECT_METHOD_TYPE);
+
+        context = new GenericApplicationContext();
+        context.registerBean(ReferenceAnnotationBeanPostProcessor.class);
+        RootBeanDefinition beanDefinition = new RootBeanDefinition(ReferenceHolder.class);
+        beanDefinition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        context.registerBeanDefinition("holder", beanDefinition);
+        context.refresh();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * 旧实现, 每次注入前make accessible, 然后反射set
+     */
+    @Benchmark
+    public Object reflectiveFieldSet() throws Exception {
+        ReflectionUtils.makeAccessible(field);
+        field.set(holder, injectedObject);
+        return holder;
+    }
+
+    @Benchmark
+    public Object compiledFieldSet() throws Throwable {
+        fieldSetter.invokeExact((Object) holder, (Object) injectedObject);
+        return holder;
+    }
+
+    /**
+     * 旧实现, 每次注入前make accessible, 然后反射invoke
+     */
+    @Benchmark
+    public Object reflectiveMethodInvoke() throws Exception {
+        ReflectionUtils.makeAccessible(method);
+        method.invoke(holder, injectedObject);
+        return holder;
+    }
+
+    @Benchmark
+    public Object compiledMethodInvoke() throws Throwable {
+        methodInvoker.invokeExact((Object) holder, (Object) injectedObject);
+        return holder;
+    }
+
+    /**
+     * 端到端, 创建带4个注入点的prototype bean
+     */
+    @Benchmark
+    public Object prototypeBeanCreation() {
+        return context.getBean("holder");
+    }
+}
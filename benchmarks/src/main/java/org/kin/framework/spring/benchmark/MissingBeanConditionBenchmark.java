@@ -0,0 +1,57 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.EchoServiceReference;
+import org.kin.framework.spring.benchmark.support.MissingEchoServiceConfiguration;
+import org.kin.framework.spring.benchmark.support.PlainBean;
+import org.kin.framework.spring.benchmark.support.SimpleConditionContext;
+import org.kin.framework.spring.condition.MissingBeanCondition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MissingBeanCondition#matches}在不同bean definition数量下的开销
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MissingBeanConditionBenchmark {
+    /** bean definition数量 */
+    @Param({"1000", "10000", "50000"})
+    private int definitionCount;
+    /** 缺失的bean是否存在 */
+    @Param({"false", "true"})
+    private boolean present;
+
+    private final MissingBeanCondition condition = new MissingBeanCondition();
+    private final AnnotationMetadata metadata = AnnotationMetadata.introspect(MissingEchoServiceConfiguration.class);
+    private SimpleConditionContext conditionContext;
+
+    @Setup
+    public void setup() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        for (int i = 0; i < definitionCount; i++) {
+            beanFactory.registerBeanDefinition("plain" + i, new RootBeanDefinition(PlainBean.class));
+        }
+        if (present) {
+            RootBeanDefinition echoDefinition = new RootBeanDefinition(EchoServiceReference.class);
+            echoDefinition.getConstructorArgumentValues().addGenericArgumentValue("echo");
+            beanFactory.registerBeanDefinition("echo", echoDefinition);
+        }
+        conditionContext = new SimpleConditionContext(beanFactory);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return condition.matches(conditionContext, metadata);
+    }
+}
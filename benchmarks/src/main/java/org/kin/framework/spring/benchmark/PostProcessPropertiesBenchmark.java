@@ -0,0 +1,71 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.DeepHierarchy;
+import org.kin.framework.spring.benchmark.support.PlainBean;
+import org.kin.framework.spring.benchmark.support.ReferenceAnnotationBeanPostProcessor;
+import org.kin.framework.spring.benchmark.support.ReferenceHolder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.MutablePropertyValues;
+import org.springframework.beans.PropertyValues;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * prototype bean场景下{@link ReferenceAnnotationBeanPostProcessor#postProcessProperties}的吞吐(元数据缓存已预热)
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostProcessPropertiesBenchmark {
+    private final ReferenceAnnotationBeanPostProcessor processor = new ReferenceAnnotationBeanPostProcessor();
+    private final PropertyValues pvs = new MutablePropertyValues();
+
+    @Setup
+    public void setup() {
+        for (Class<?> beanClass : new Class<?>[]{ReferenceHolder.class, DeepHierarchy.Leaf.class, PlainBean.class}) {
+            processor.postProcessMergedBeanDefinition(new RootBeanDefinition(beanClass), beanClass, beanClass.getSimpleName());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        processor.destroy();
+    }
+
+    /**
+     * 4个注入点
+     */
+    @Benchmark
+    public Object referenceHolder() {
+        ReferenceHolder bean = new ReferenceHolder();
+        processor.postProcessProperties(pvs, bean, "referenceHolder");
+        return bean;
+    }
+
+    /**
+     * 8层继承, 48个注入点
+     */
+    @Benchmark
+    public Object deepHierarchy() {
+        DeepHierarchy.Leaf bean = new DeepHierarchy.Leaf();
+        processor.postProcessProperties(pvs, bean, "deepHierarchy");
+        return bean;
+    }
+
+    /**
+     * 无注入点
+     */
+    @Benchmark
+    public Object plainBean() {
+        PlainBean bean = new PlainBean();
+        processor.postProcessProperties(pvs, bean, "plainBean");
+        return bean;
+    }
+}
@@ -0,0 +1,221 @@
+package org.kin.framework.spring.benchmark;
+
+import org.kin.framework.spring.benchmark.support.SyntheticContextBuilder;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.ToLongFunction;
+
+/**
+ * 端到端启动benchmark, 按{@link SyntheticContextBuilder}生成不同bean definition数量的合成context, 测量整个refresh的
+ * 耗时, 内存分配以及堆峰值, 并与基线对比, 任一指标超过阈值则以非0退出码退出, 使得构建失败
+ * <p>
+ * 参数均通过system property指定:
+ * <ul>
+ *     <li>kin.startup.definitions: bean definition数量, 多个以逗号分隔, 默认1000,10000,50000</li>
+ *     <li>kin.startup.mix: bean种类比例, 默认injection=40,condition=10,closeable=10, 其余为不带注入点的bean</li>
+ *     <li>kin.startup.warmup: 预热次数, 默认2</li>
+ *     <li>kin.startup.iterations: 测量次数, 取中位数, 默认5</li>
+ *     <li>kin.startup.result: 结果文件, 默认startup-result-${kin.benchmark.version}.properties, 可直接作为基线</li>
+ *     <li>kin.startup.baseline: 基线文件, 不存在则仅输出结果</li>
+ *     <li>kin.startup.threshold: 允许的退化比例, 默认0.2, 即任一指标超过基线20%则失败</li>
+ * </ul>
+ * 内存分配仅统计执行refresh的线程. 堆峰值为refresh期间各堆内存池峰值之和减去refresh前(gc后)已使用堆内存, 即refresh新增的堆内存上限
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class StartupHarness {
+    /** 结果文件名中的版本号, 通过-Dkin.benchmark.version指定 */
+    private static final String VERSION = System.getProperty("kin.benchmark.version", "snapshot");
+    /** refresh耗时(毫秒) */
+    private static final String REFRESH_MILLIS = "refreshMillis";
+    /** refresh线程分配的内存(字节) */
+    private static final String ALLOCATED_BYTES = "allocatedBytes";
+    /** refresh新增的堆内存峰值(字节) */
+    private static final String PEAK_HEAP_BYTES = "peakHeapBytes";
+    /** 对比的指标 */
+    private static final String[] METRICS = {REFRESH_MILLIS, ALLOCATED_BYTES, PEAK_HEAP_BYTES};
+
+    private StartupHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        String definitions = System.getProperty("kin.startup.definitions", "1000,10000,50000");
+        Map<String, Integer> mix = SyntheticContextBuilder.parseMix(
+                System.getProperty("kin.startup.mix", "injection=40,condition=10,closeable=10"));
+        int warmup = Integer.getInteger("kin.startup.warmup", 2);
+        int iterations = Integer.getInteger("kin.startup.iterations", 5);
+        Path resultFile = Paths.get(System.getProperty("kin.startup.result", "startup-result-" + VERSION + ".properties"));
+        String baselineFile = System.getProperty("kin.startup.baseline");
+        double threshold = Double.parseDouble(System.getProperty("kin.startup.threshold", "0.2"));
+
+        Properties result = new Properties();
+        result.setProperty("mix", mix.toString());
+        for (String definitionCount : StringUtils.commaDelimitedListToStringArray(definitions)) {
+            SyntheticContextBuilder builder = new SyntheticContextBuilder(Integer.parseInt(definitionCount.trim()), mix);
+            for (int i = 0; i < warmup; i++) {
+                measure(builder);
+            }
+            List<Measurement> measurements = new ArrayList<>(iterations);
+            for (int i = 0; i < iterations; i++) {
+                measurements.add(measure(builder));
+            }
+
+            int count = builder.getDefinitionCount();
+            result.setProperty(count + "." + REFRESH_MILLIS,
+                    String.format("%.3f", median(measurements, m -> m.refreshNanos) / 1_000_000D));
+            result.setProperty(count + "." + ALLOCATED_BYTES, String.valueOf(median(measurements, m -> m.allocatedBytes)));
+            result.setProperty(count + "." + PEAK_HEAP_BYTES, String.valueOf(median(measurements, m -> m.peakHeapBytes)));
+            System.out.printf("definitions: %d, mix: %s, refresh: %sms, allocated: %s bytes, peak heap: %s bytes%n", count, mix,
+                    result.getProperty(count + "." + REFRESH_MILLIS), result.getProperty(count + "." + ALLOCATED_BYTES),
+                    result.getProperty(count + "." + PEAK_HEAP_BYTES));
+        }
+
+        Path parent = resultFile.toAbsolutePath().getParent();
+        if (Objects.nonNull(parent)) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream os = Files.newOutputStream(resultFile)) {
+            result.store(os, "kin-framework-spring startup benchmark " + VERSION);
+        }
+        System.out.println("startup benchmark result was written to " + resultFile.toAbsolutePath());
+
+        if (!StringUtils.hasText(baselineFile) || !Files.exists(Paths.get(baselineFile))) {
+            System.out.println("startup benchmark baseline is not found, skip regression check");
+            return;
+        }
+        if (!checkRegression(result, Paths.get(baselineFile), threshold)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 测量一次refresh
+     */
+    private static Measurement measure(SyntheticContextBuilder builder) {
+        GenericApplicationContext context = builder.build();
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        long heapUsedBefore = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+                heapUsedBefore += pool.getUsage().getUsed();
+            }
+        }
+        long allocatedBefore = allocatedBytes();
+        long startNanos = System.nanoTime();
+        try {
+            context.refresh();
+            long refreshNanos = System.nanoTime() - startNanos;
+            long allocatedBytes = allocatedBytes() - allocatedBefore;
+            long peakHeapUsed = 0;
+            for (MemoryPoolMXBean pool : heapPools) {
+                peakHeapUsed += pool.getPeakUsage().getUsed();
+            }
+            return new Measurement(refreshNanos, allocatedBytes, Math.max(0, peakHeapUsed - heapUsedBefore));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * @return 当前线程已分配的内存(字节), 不支持则返回0
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return sunThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return 中位数
+     */
+    private static long median(List<Measurement> measurements, ToLongFunction<Measurement> metric) {
+        long[] values = measurements.stream().mapToLong(metric).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    /**
+     * 与基线对比
+     *
+     * @return 是否所有指标均未超过阈值
+     */
+    private static boolean checkRegression(Properties result, Path baselineFile, double threshold) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream is = Files.newInputStream(baselineFile)) {
+            baseline.load(is);
+        }
+        if (!Objects.equals(baseline.getProperty("mix"), result.getProperty("mix"))) {
+            System.out.println("WARN: bean mix of baseline " + baseline.getProperty("mix") + " is different from " + result.getProperty("mix"));
+        }
+
+        boolean passed = true;
+        for (String key : new TreeSet<>(result.stringPropertyNames())) {
+            if (!isMetric(key) || !baseline.containsKey(key)) {
+                continue;
+            }
+            double current = Double.parseDouble(result.getProperty(key));
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            double ratio = expected > 0 ? current / expected : 1;
+            boolean regressed = ratio > 1 + threshold;
+            System.out.printf("%s %s: baseline %s, current %s (%+.1f%%)%n", regressed ? "REGRESSION" : "OK",
+                    key, baseline.getProperty(key), result.getProperty(key), (ratio - 1) * 100);
+            passed &= !regressed;
+        }
+        if (!passed) {
+            System.out.printf("startup benchmark regressed more than %.1f%% against baseline %s%n", threshold * 100, baselineFile.toAbsolutePath());
+        }
+        return passed;
+    }
+
+    /**
+     * @return 是否是对比的指标
+     */
+    private static boolean isMetric(String key) {
+        for (String metric : METRICS) {
+            if (key.endsWith("." + metric)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 单次refresh测量结果
+     */
+    private static final class Measurement {
+        /** refresh耗时(纳秒) */
+        private final long refreshNanos;
+        /** refresh线程分配的内存(字节) */
+        private final long allocatedBytes;
+        /** refresh新增的堆内存峰值(字节) */
+        private final long peakHeapBytes;
+
+        private Measurement(long refreshNanos, long allocatedBytes, long peakHeapBytes) {
+            this.refreshNanos = refreshNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.Closeable;
+
+/**
+ * 需在jvm关闭时释放的资源, 由{@link org.kin.framework.spring.SpringJvmClosingScanner}收集
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class CloseableResource implements Closeable {
+    /** 是否已释放 */
+    private volatile boolean closed;
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,425 @@
+package org.kin.framework.spring.benchmark.support;
+
+/**
+ * 深层继承结构, 每层均包含被{@link Reference}注解的字段和方法, 以及普通字段和方法
+ * 用于衡量注入元数据构建开销
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class DeepHierarchy {
+    private DeepHierarchy() {
+    }
+
+    public static class Level0 {
+        @Reference("level0-field0")
+        private EchoService ref0F0;
+        @Reference("level0-field1")
+        private EchoService ref0F1;
+        @Reference("level0-field2")
+        private EchoService ref0F2;
+        @Reference("level0-field3")
+        private EchoService ref0F3;
+        private String plain0F0;
+        private String plain0F1;
+        private String plain0F2;
+        private String plain0F3;
+        private String plain0F4;
+        private String plain0F5;
+        private String plain0F6;
+        private String plain0F7;
+
+        @Reference("level0-method0")
+        public void setRef0M0(EchoService service) {
+        }
+
+        @Reference("level0-method1")
+        public void setRef0M1(EchoService service) {
+        }
+
+        public String getPlain0F0() {
+            return plain0F0;
+        }
+
+        public String getPlain0F1() {
+            return plain0F1;
+        }
+
+        public String getPlain0F2() {
+            return plain0F2;
+        }
+
+        public String getPlain0F3() {
+            return plain0F3;
+        }
+
+        public String getPlain0F4() {
+            return plain0F4;
+        }
+
+        public String getPlain0F5() {
+            return plain0F5;
+        }
+    }
+
+    public static class Level1 extends Level0 {
+        @Reference("level1-field0")
+        private EchoService ref1F0;
+        @Reference("level1-field1")
+        private EchoService ref1F1;
+        @Reference("level1-field2")
+        private EchoService ref1F2;
+        @Reference("level1-field3")
+        private EchoService ref1F3;
+        private String plain1F0;
+        private String plain1F1;
+        private String plain1F2;
+        private String plain1F3;
+        private String plain1F4;
+        private String plain1F5;
+        private String plain1F6;
+        private String plain1F7;
+
+        @Reference("level1-method0")
+        public void setRef1M0(EchoService service) {
+        }
+
+        @Reference("level1-method1")
+        public void setRef1M1(EchoService service) {
+        }
+
+        public String getPlain1F0() {
+            return plain1F0;
+        }
+
+        public String getPlain1F1() {
+            return plain1F1;
+        }
+
+        public String getPlain1F2() {
+            return plain1F2;
+        }
+
+        public String getPlain1F3() {
+            return plain1F3;
+        }
+
+        public String getPlain1F4() {
+            return plain1F4;
+        }
+
+        public String getPlain1F5() {
+            return plain1F5;
+        }
+    }
+
+    public static class Level2 extends Level1 {
+        @Reference("level2-field0")
+        private EchoService ref2F0;
+        @Reference("level2-field1")
+        private EchoService ref2F1;
+        @Reference("level2-field2")
+        private EchoService ref2F2;
+        @Reference("level2-field3")
+        private EchoService ref2F3;
+        private String plain2F0;
+        private String plain2F1;
+        private String plain2F2;
+        private String plain2F3;
+        private String plain2F4;
+        private String plain2F5;
+        private String plain2F6;
+        private String plain2F7;
+
+        @Reference("level2-method0")
+        public void setRef2M0(EchoService service) {
+        }
+
+        @Reference("level2-method1")
+        public void setRef2M1(EchoService service) {
+        }
+
+        public String getPlain2F0() {
+            return plain2F0;
+        }
+
+        public String getPlain2F1() {
+            return plain2F1;
+        }
+
+        public String getPlain2F2() {
+            return plain2F2;
+        }
+
+        public String getPlain2F3() {
+            return plain2F3;
+        }
+
+        public String getPlain2F4() {
+            return plain2F4;
+        }
+
+        public String getPlain2F5() {
+            return plain2F5;
+        }
+    }
+
+    public static class Level3 extends Level2 {
+        @Reference("level3-field0")
+        private EchoService ref3F0;
+        @Reference("level3-field1")
+        private EchoService ref3F1;
+        @Reference("level3-field2")
+        private EchoService ref3F2;
+        @Reference("level3-field3")
+        private EchoService ref3F3;
+        private String plain3F0;
+        private String plain3F1;
+        private String plain3F2;
+        private String plain3F3;
+        private String plain3F4;
+        private String plain3F5;
+        private String plain3F6;
+        private String plain3F7;
+
+        @Reference("level3-method0")
+        public void setRef3M0(EchoService service) {
+        }
+
+        @Reference("level3-method1")
+        public void setRef3M1(EchoService service) {
+        }
+
+        public String getPlain3F0() {
+            return plain3F0;
+        }
+
+        public String getPlain3F1() {
+            return plain3F1;
+        }
+
+        public String getPlain3F2() {
+            return plain3F2;
+        }
+
+        public String getPlain3F3() {
+            return plain3F3;
+        }
+
+        public String getPlain3F4() {
+            return plain3F4;
+        }
+
+        public String getPlain3F5() {
+            return plain3F5;
+        }
+    }
+
+    public static class Level4 extends Level3 {
+        @Reference("level4-field0")
+        private EchoService ref4F0;
+        @Reference("level4-field1")
+        private EchoService ref4F1;
+        @Reference("level4-field2")
+        private EchoService ref4F2;
+        @Reference("level4-field3")
+        private EchoService ref4F3;
+        private String plain4F0;
+        private String plain4F1;
+        private String plain4F2;
+        private String plain4F3;
+        private String plain4F4;
+        private String plain4F5;
+        private String plain4F6;
+        private String plain4F7;
+
+        @Reference("level4-method0")
+        public void setRef4M0(EchoService service) {
+        }
+
+        @Reference("level4-method1")
+        public void setRef4M1(EchoService service) {
+        }
+
+        public String getPlain4F0() {
+            return plain4F0;
+        }
+
+        public String getPlain4F1() {
+            return plain4F1;
+        }
+
+        public String getPlain4F2() {
+            return plain4F2;
+        }
+
+        public String getPlain4F3() {
+            return plain4F3;
+        }
+
+        public String getPlain4F4() {
+            return plain4F4;
+        }
+
+        public String getPlain4F5() {
+            return plain4F5;
+        }
+    }
+
+    public static class Level5 extends Level4 {
+        @Reference("level5-field0")
+        private EchoService ref5F0;
+        @Reference("level5-field1")
+        private EchoService ref5F1;
+        @Reference("level5-field2")
+        private EchoService ref5F2;
+        @Reference("level5-field3")
+        private EchoService ref5F3;
+        private String plain5F0;
+        private String plain5F1;
+        private String plain5F2;
+        private String plain5F3;
+        private String plain5F4;
+        private String plain5F5;
+        private String plain5F6;
+        private String plain5F7;
+
+        @Reference("level5-method0")
+        public void setRef5M0(EchoService service) {
+        }
+
+        @Reference("level5-method1")
+        public void setRef5M1(EchoService service) {
+        }
+
+        public String getPlain5F0() {
+            return plain5F0;
+        }
+
+        public String getPlain5F1() {
+            return plain5F1;
+        }
+
+        public String getPlain5F2() {
+            return plain5F2;
+        }
+
+        public String getPlain5F3() {
+            return plain5F3;
+        }
+
+        public String getPlain5F4() {
+            return plain5F4;
+        }
+
+        public String getPlain5F5() {
+            return plain5F5;
+        }
+    }
+
+    public static class Level6 extends Level5 {
+        @Reference("level6-field0")
+        private EchoService ref6F0;
+        @Reference("level6-field1")
+        private EchoService ref6F1;
+        @Reference("level6-field2")
+        private EchoService ref6F2;
+        @Reference("level6-field3")
+        private EchoService ref6F3;
+        private String plain6F0;
+        private String plain6F1;
+        private String plain6F2;
+        private String plain6F3;
+        private String plain6F4;
+        private String plain6F5;
+        private String plain6F6;
+        private String plain6F7;
+
+        @Reference("level6-method0")
+        public void setRef6M0(EchoService service) {
+        }
+
+        @Reference("level6-method1")
+        public void setRef6M1(EchoService service) {
+        }
+
+        public String getPlain6F0() {
+            return plain6F0;
+        }
+
+        public String getPlain6F1() {
+            return plain6F1;
+        }
+
+        public String getPlain6F2() {
+            return plain6F2;
+        }
+
+        public String getPlain6F3() {
+            return plain6F3;
+        }
+
+        public String getPlain6F4() {
+            return plain6F4;
+        }
+
+        public String getPlain6F5() {
+            return plain6F5;
+        }
+    }
+
+    public static class Level7 extends Level6 {
+        @Reference("level7-field0")
+        private EchoService ref7F0;
+        @Reference("level7-field1")
+        private EchoService ref7F1;
+        @Reference("level7-field2")
+        private EchoService ref7F2;
+        @Reference("level7-field3")
+        private EchoService ref7F3;
+        private String plain7F0;
+        private String plain7F1;
+        private String plain7F2;
+        private String plain7F3;
+        private String plain7F4;
+        private String plain7F5;
+        private String plain7F6;
+        private String plain7F7;
+
+        @Reference("level7-method0")
+        public void setRef7M0(EchoService service) {
+        }
+
+        @Reference("level7-method1")
+        public void setRef7M1(EchoService service) {
+        }
+
+        public String getPlain7F0() {
+            return plain7F0;
+        }
+
+        public String getPlain7F1() {
+            return plain7F1;
+        }
+
+        public String getPlain7F2() {
+            return plain7F2;
+        }
+
+        public String getPlain7F3() {
+            return plain7F3;
+        }
+
+        public String getPlain7F4() {
+            return plain7F4;
+        }
+
+        public String getPlain7F5() {
+            return plain7F5;
+        }
+    }
+
+    /** 最底层class */
+    public static class Leaf extends Level7 {
+    }
+}
@@ -0,0 +1,14 @@
+package org.kin.framework.spring.benchmark.support;
+
+/**
+ * benchmark使用的被注入服务接口
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public interface EchoService {
+    /**
+     * 原样返回
+     */
+    String echo(String message);
+}
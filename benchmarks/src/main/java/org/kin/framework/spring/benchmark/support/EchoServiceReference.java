@@ -0,0 +1,25 @@
+package org.kin.framework.spring.benchmark.support;
+
+/**
+ * 模拟的服务引用, 即被注入的对象
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class EchoServiceReference implements EchoService {
+    /** 服务名 */
+    private final String service;
+
+    public EchoServiceReference(String service) {
+        this.service = service;
+    }
+
+    @Override
+    public String echo(String message) {
+        return message;
+    }
+
+    public String getService() {
+        return service;
+    }
+}
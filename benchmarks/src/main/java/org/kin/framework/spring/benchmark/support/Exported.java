@@ -0,0 +1,19 @@
+package org.kin.framework.spring.benchmark.support;
+
+import java.lang.annotation.*;
+
+/**
+ * 标识在bean factory method上的注解, 用于{@link org.kin.framework.spring.beans.BeanDefinitionUtils}相关benchmark
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Exported {
+    /**
+     * 分组
+     */
+    String group() default "default";
+}
@@ -0,0 +1,35 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 通过bean factory method定义bean, 部分factory method带{@link Exported}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Configuration(proxyBeanMethods = false)
+public class FactoryMethodConfiguration {
+    @Bean
+    @Exported(group = "echo")
+    public EchoService exportedEcho() {
+        return new EchoServiceReference("exportedEcho");
+    }
+
+    @Bean
+    public EchoService plainEcho() {
+        return new EchoServiceReference("plainEcho");
+    }
+
+    @Bean
+    @Exported
+    public PlainBean exportedPlain() {
+        return new PlainBean();
+    }
+
+    @Bean
+    public PlainBean plain() {
+        return new PlainBean();
+    }
+}
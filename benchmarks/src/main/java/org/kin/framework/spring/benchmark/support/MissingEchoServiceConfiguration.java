@@ -0,0 +1,15 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.spring.condition.ConditionOnMissingBean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 缺失{@link EchoService}时才生效的配置
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionOnMissingBean(EchoService.class)
+public class MissingEchoServiceConfiguration {
+}
@@ -0,0 +1,20 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.spring.condition.ConditionOnClass;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 依赖classpath上的类才生效的配置, 其中部分类缺失
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionOnClass(name = {
+        "java.util.concurrent.ConcurrentHashMap",
+        "org.springframework.context.ApplicationContext",
+        "org.kin.framework.spring.benchmark.support.EchoService",
+        "com.example.missing.NettyTransport",
+        "com.example.missing.GrpcTransport"})
+public class OnClassConfiguration {
+}
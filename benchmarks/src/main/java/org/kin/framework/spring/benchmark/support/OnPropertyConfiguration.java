@@ -0,0 +1,15 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.spring.condition.ConditionOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 依赖property才生效的配置
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionOnProperty(prefix = "kin.benchmark", name = {"enabled", "cache.enabled", "metrics.enabled"}, havingValue = "true")
+public class OnPropertyConfiguration {
+}
@@ -0,0 +1,46 @@
+package org.kin.framework.spring.benchmark.support;
+
+/**
+ * 不带任何注入点的bean, 大多数bean属于此类
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class PlainBean {
+    private String name;
+    private int age;
+    private long timestamp;
+    private Object payload;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Object payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,19 @@
+package org.kin.framework.spring.benchmark.support;
+
+import java.lang.annotation.*;
+
+/**
+ * benchmark使用的注入注解, 由{@link ReferenceAnnotationBeanPostProcessor}处理
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Reference {
+    /**
+     * 服务名
+     */
+    String value() default "";
+}
@@ -0,0 +1,34 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.spring.beans.AbstractAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.core.annotation.AnnotationAttributes;
+
+/**
+ * benchmark使用的{@link AbstractAnnotationBeanPostProcessor}实现, 处理{@link Reference}注入
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class ReferenceAnnotationBeanPostProcessor extends AbstractAnnotationBeanPostProcessor {
+    public ReferenceAnnotationBeanPostProcessor() {
+        super(Reference.class);
+    }
+
+    @Override
+    protected Object doGetInjectedBean(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                       InjectionMetadata.InjectedElement injectedElement) {
+        return new EchoServiceReference(attributes.getString("value"));
+    }
+
+    @Override
+    protected String buildInjectedObjectCacheKey(AnnotationAttributes attributes, Object bean, String beanName,
+                                                 Class<?> injectedType, InjectionMetadata.InjectedElement injectedElement) {
+        return attributes.getString("value");
+    }
+
+    @Override
+    protected boolean isElementScopedCacheKey() {
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package org.kin.framework.spring.benchmark.support;
+
+/**
+ * 带{@link Reference}注入点的bean
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class ReferenceHolder {
+    @Reference("echo1")
+    private EchoService echo1;
+    @Reference("echo2")
+    private EchoService echo2;
+    @Reference("echo3")
+    private EchoService echo3;
+    private EchoService echo4;
+
+    @Reference("echo4")
+    public void setEcho4(EchoService echo4) {
+        this.echo4 = echo4;
+    }
+
+    //getter
+    public EchoService getEcho1() {
+        return echo1;
+    }
+
+    public EchoService getEcho2() {
+        return echo2;
+    }
+
+    public EchoService getEcho3() {
+        return echo3;
+    }
+
+    public EchoService getEcho4() {
+        return echo4;
+    }
+}
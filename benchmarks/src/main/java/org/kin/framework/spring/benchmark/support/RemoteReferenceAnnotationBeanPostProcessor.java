@@ -0,0 +1,52 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.spring.beans.InjectedObjectCacheKey;
+import org.kin.framework.spring.beans.InjectedObjectRequest;
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.core.annotation.AnnotationAttributes;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 模拟每次获取服务引用都需访问一次注册中心的{@link ReferenceAnnotationBeanPostProcessor}, 支持批量获取
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class RemoteReferenceAnnotationBeanPostProcessor extends ReferenceAnnotationBeanPostProcessor {
+    /** 访问一次注册中心的耗时(微秒) */
+    private final long roundTripMicros;
+    /** 是否批量获取 */
+    private final boolean batch;
+
+    public RemoteReferenceAnnotationBeanPostProcessor(long roundTripMicros, boolean batch) {
+        this.roundTripMicros = roundTripMicros;
+        this.batch = batch;
+    }
+
+    @Override
+    protected Object doGetInjectedBean(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                       InjectionMetadata.InjectedElement injectedElement) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        return super.doGetInjectedBean(attributes, bean, beanName, injectedType, injectedElement);
+    }
+
+    @Override
+    protected boolean isBatchInjectionSupported() {
+        return batch;
+    }
+
+    @Override
+    protected Map<InjectedObjectCacheKey, Object> doBatchGetInjectedBeans(List<InjectedObjectRequest> requests) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        Map<InjectedObjectCacheKey, Object> injectedObjects = new HashMap<>(requests.size());
+        for (InjectedObjectRequest request : requests) {
+            injectedObjects.put(request.getCacheKey(), new EchoServiceReference(request.getAttributes().getString("value")));
+        }
+        return injectedObjects;
+    }
+}
@@ -0,0 +1,61 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.annotation.Nonnull;
+
+/**
+ * benchmark直接调用{@link org.springframework.context.annotation.Condition}时使用的{@link ConditionContext}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class SimpleConditionContext implements ConditionContext {
+    private final DefaultListableBeanFactory beanFactory;
+    private final Environment environment;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+    public SimpleConditionContext(DefaultListableBeanFactory beanFactory) {
+        this(beanFactory, new StandardEnvironment());
+    }
+
+    public SimpleConditionContext(DefaultListableBeanFactory beanFactory, Environment environment) {
+        this.beanFactory = beanFactory;
+        this.environment = environment;
+    }
+
+    @Nonnull
+    @Override
+    public BeanDefinitionRegistry getRegistry() {
+        return beanFactory;
+    }
+
+    @Override
+    public ConfigurableListableBeanFactory getBeanFactory() {
+        return beanFactory;
+    }
+
+    @Nonnull
+    @Override
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    @Nonnull
+    @Override
+    public ResourceLoader getResourceLoader() {
+        return resourceLoader;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return beanFactory.getBeanClassLoader();
+    }
+}
@@ -0,0 +1,109 @@
+package org.kin.framework.spring.benchmark.support;
+
+import org.kin.framework.spring.SpringJvmClosingScanner;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按比例生成包含大量bean definition的合成context, 用于测量整个refresh的开销
+ * <ul>
+ *     <li>injection: 带{@link Reference}注入点的bean, 由{@link ReferenceAnnotationBeanPostProcessor}注入</li>
+ *     <li>condition: 带{@link org.kin.framework.spring.condition.ConditionOnMissingBean}的配置类</li>
+ *     <li>closeable: 由{@link SpringJvmClosingScanner}收集的{@link CloseableResource}</li>
+ *     <li>其余为不带注入点的{@link PlainBean}</li>
+ * </ul>
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class SyntheticContextBuilder {
+    /** 带注入点的bean */
+    public static final String INJECTION = "injection";
+    /** 条件配置类 */
+    public static final String CONDITION = "condition";
+    /** jvm关闭时释放的资源 */
+    public static final String CLOSEABLE = "closeable";
+
+    /** bean definition数量 */
+    private final int definitionCount;
+    /** key -> bean种类, value -> 百分比 */
+    private final Map<String, Integer> mix;
+
+    public SyntheticContextBuilder(int definitionCount, Map<String, Integer> mix) {
+        Assert.isTrue(definitionCount > 0, "definitionCount must be greater than 0");
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            Assert.isTrue(INJECTION.equals(entry.getKey()) || CONDITION.equals(entry.getKey()) || CLOSEABLE.equals(entry.getKey()),
+                    "unknown bean kind '" + entry.getKey() + "'");
+            Assert.isTrue(entry.getValue() >= 0, "percentage must not be negative");
+            total += entry.getValue();
+        }
+        Assert.isTrue(total <= 100, "total percentage must not be greater than 100");
+        this.definitionCount = definitionCount;
+        this.mix = mix;
+    }
+
+    /**
+     * 解析bean种类比例, 格式为{@code injection=60,condition=10,closeable=10}
+     */
+    public static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String item : StringUtils.commaDelimitedListToStringArray(mix)) {
+            String[] pair = StringUtils.split(item.trim(), "=");
+            Assert.notNull(pair, "illegal bean mix item '" + item + "', expected kind=percentage");
+            result.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return result;
+    }
+
+    /**
+     * 构建未refresh的context
+     */
+    public GenericApplicationContext build() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        //解析配置类并评估条件
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+        context.registerBean(ReferenceAnnotationBeanPostProcessor.class);
+        context.registerBean(SpringJvmClosingScanner.class);
+
+        int injectionCount = count(INJECTION);
+        int conditionCount = count(CONDITION);
+        int closeableCount = count(CLOSEABLE);
+        int index = 0;
+        for (int i = 0; i < injectionCount; i++, index++) {
+            context.registerBeanDefinition("injection" + index, new RootBeanDefinition(ReferenceHolder.class));
+        }
+        for (int i = 0; i < conditionCount; i++, index++) {
+            context.registerBeanDefinition("condition" + index, new RootBeanDefinition(MissingEchoServiceConfiguration.class));
+        }
+        for (int i = 0; i < closeableCount; i++, index++) {
+            context.registerBeanDefinition("closeable" + index, new RootBeanDefinition(CloseableResource.class));
+        }
+        for (; index < definitionCount; index++) {
+            context.registerBeanDefinition("plain" + index, new RootBeanDefinition(PlainBean.class));
+        }
+        return context;
+    }
+
+    /**
+     * @return 指定种类的bean definition数量
+     */
+    private int count(String kind) {
+        return (int) ((long) definitionCount * mix.getOrDefault(kind, 0) / 100);
+    }
+
+    //getter
+    public int getDefinitionCount() {
+        return definitionCount;
+    }
+
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+}
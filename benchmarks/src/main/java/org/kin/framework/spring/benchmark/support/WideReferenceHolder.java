@@ -0,0 +1,138 @@
+package org.kin.framework.spring.benchmark.support;
+
+/**
+ * 带64个不同{@link Reference}注入点的bean, 模拟引用大量远程服务的bean
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class WideReferenceHolder {
+    @Reference("wide0")
+    private EchoService ref0;
+    @Reference("wide1")
+    private EchoService ref1;
+    @Reference("wide2")
+    private EchoService ref2;
+    @Reference("wide3")
+    private EchoService ref3;
+    @Reference("wide4")
+    private EchoService ref4;
+    @Reference("wide5")
+    private EchoService ref5;
+    @Reference("wide6")
+    private EchoService ref6;
+    @Reference("wide7")
+    private EchoService ref7;
+    @Reference("wide8")
+    private EchoService ref8;
+    @Reference("wide9")
+    private EchoService ref9;
+    @Reference("wide10")
+    private EchoService ref10;
+    @Reference("wide11")
+    private EchoService ref11;
+    @Reference("wide12")
+    private EchoService ref12;
+    @Reference("wide13")
+    private EchoService ref13;
+    @Reference("wide14")
+    private EchoService ref14;
+    @Reference("wide15")
+    private EchoService ref15;
+    @Reference("wide16")
+    private EchoService ref16;
+    @Reference("wide17")
+    private EchoService ref17;
+    @Reference("wide18")
+    private EchoService ref18;
+    @Reference("wide19")
+    private EchoService ref19;
+    @Reference("wide20")
+    private EchoService ref20;
+    @Reference("wide21")
+    private EchoService ref21;
+    @Reference("wide22")
+    private EchoService ref22;
+    @Reference("wide23")
+    private EchoService ref23;
+    @Reference("wide24")
+    private EchoService ref24;
+    @Reference("wide25")
+    private EchoService ref25;
+    @Reference("wide26")
+    private EchoService ref26;
+    @Reference("wide27")
+    private EchoService ref27;
+    @Reference("wide28")
+    private EchoService ref28;
+    @Reference("wide29")
+    private EchoService ref29;
+    @Reference("wide30")
+    private EchoService ref30;
+    @Reference("wide31")
+    private EchoService ref31;
+    @Reference("wide32")
+    private EchoService ref32;
+    @Reference("wide33")
+    private EchoService ref33;
+    @Reference("wide34")
+    private EchoService ref34;
+    @Reference("wide35")
+    private EchoService ref35;
+    @Reference("wide36")
+    private EchoService ref36;
+    @Reference("wide37")
+    private EchoService ref37;
+    @Reference("wide38")
+    private EchoService ref38;
+    @Reference("wide39")
+    private EchoService ref39;
+    @Reference("wide40")
+    private EchoService ref40;
+    @Reference("wide41")
+    private EchoService ref41;
+    @Reference("wide42")
+    private EchoService ref42;
+    @Reference("wide43")
+    private EchoService ref43;
+    @Reference("wide44")
+    private EchoService ref44;
+    @Reference("wide45")
+    private EchoService ref45;
+    @Reference("wide46")
+    private EchoService ref46;
+    @Reference("wide47")
+    private EchoService ref47;
+    @Reference("wide48")
+    private EchoService ref48;
+    @Reference("wide49")
+    private EchoService ref49;
+    @Reference("wide50")
+    private EchoService ref50;
+    @Reference("wide51")
+    private EchoService ref51;
+    @Reference("wide52")
+    private EchoService ref52;
+    @Reference("wide53")
+    private EchoService ref53;
+    @Reference("wide54")
+    private EchoService ref54;
+    @Reference("wide55")
+    private EchoService ref55;
+    @Reference("wide56")
+    private EchoService ref56;
+    @Reference("wide57")
+    private EchoService ref57;
+    @Reference("wide58")
+    private EchoService ref58;
+    @Reference("wide59")
+    private EchoService ref59;
+    @Reference("wide60")
+    private EchoService ref60;
+    @Reference("wide61")
+    private EchoService ref61;
+    @Reference("wide62")
+    private EchoService ref62;
+    @Reference("wide63")
+    private EchoService ref63;
+}
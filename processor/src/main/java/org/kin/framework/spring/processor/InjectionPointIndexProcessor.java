@@ -0,0 +1,189 @@
+package org.kin.framework.spring.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 编译期生成注入点索引, 记录每个class声明的被指定注解(包括meta-annotations)标识的字段和方法,
+ * 运行时AbstractAnnotationBeanPostProcessor读取索引后, 仅检查索引中列出的成员, 不再反射扫描所有成员
+ * <p>
+ * 通过编译参数{@code -Akin.spring.injection.annotations=com.foo.Reference,com.foo.Other}指定需要索引的注解(binary name, 即{@link Class#getName()}),
+ * 未指定则不生成索引
+ * <p>
+ * 索引格式(properties):
+ * <pre>
+ * &#64;annotations=com.foo.Reference
+ * com.foo.Bean=f:field,m:setter
+ * com.foo.PlainBean=
+ * </pre>
+ * 所有参与编译的class都会记录, 没有注入点的class值为空, 运行时可以直接跳过
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(InjectionPointIndexProcessor.ANNOTATIONS_OPTION)
+public class InjectionPointIndexProcessor extends AbstractProcessor {
+    /** 需要索引的注解, 多个以逗号分隔 */
+    static final String ANNOTATIONS_OPTION = "kin.spring.injection.annotations";
+    /** 索引文件位置, 与运行时InjectionPointIndex保持一致 */
+    static final String INDEX_LOCATION = "META-INF/kin-spring-injection.index";
+    /** 索引中记录注解的key */
+    static final String ANNOTATIONS_KEY = "@annotations";
+    /** 字段前缀 */
+    static final String FIELD_PREFIX = "f:";
+    /** 方法前缀 */
+    static final String METHOD_PREFIX = "m:";
+
+    /** 需要索引的注解 */
+    private Set<String> annotationTypes;
+    /** key -> class binary name, value -> 被注解的成员 */
+    private final Map<String, Set<String>> index = new TreeMap<>();
+    /** 注解是否(直接或间接)被需要索引的注解标识, 缓存 */
+    private final Map<String, Boolean> annotationMatches = new HashMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (Objects.isNull(annotationTypes)) {
+            annotationTypes = parseAnnotationTypes(processingEnv.getOptions().get(ANNOTATIONS_OPTION));
+        }
+        if (annotationTypes.isEmpty()) {
+            return false;
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            for (Element element : roundEnv.getRootElements()) {
+                if (element instanceof TypeElement) {
+                    indexType((TypeElement) element);
+                }
+            }
+        }
+        //不声明占有注解, 不影响其他processor
+        return false;
+    }
+
+    /**
+     * 解析需要索引的注解
+     */
+    private static Set<String> parseAnnotationTypes(String option) {
+        if (Objects.isNull(option)) {
+            return Collections.emptySet();
+        }
+        Set<String> annotationTypes = new TreeSet<>();
+        for (String annotationType : option.split(",")) {
+            annotationType = annotationType.trim();
+            if (!annotationType.isEmpty()) {
+                annotationTypes.add(annotationType);
+            }
+        }
+        return annotationTypes;
+    }
+
+    /**
+     * 索引class及其内部类
+     */
+    private void indexType(TypeElement typeElement) {
+        Elements elementUtils = processingEnv.getElementUtils();
+        if (typeElement.getKind() == ElementKind.CLASS) {
+            Set<String> members = new TreeSet<>();
+            for (Element enclosed : typeElement.getEnclosedElements()) {
+                ElementKind kind = enclosed.getKind();
+                if ((kind == ElementKind.FIELD || kind == ElementKind.METHOD) && isAnnotated(enclosed)) {
+                    members.add((kind == ElementKind.FIELD ? FIELD_PREFIX : METHOD_PREFIX) + enclosed.getSimpleName());
+                }
+            }
+            index.put(elementUtils.getBinaryName(typeElement).toString(), members);
+        }
+
+        for (Element enclosed : typeElement.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                indexType((TypeElement) enclosed);
+            }
+        }
+    }
+
+    /**
+     * 成员是否被需要索引的注解(包括meta-annotations)标识
+     */
+    private boolean isAnnotated(Element element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (matches(annotationElement, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 注解是否为需要索引的注解, 或者被需要索引的注解标识
+     *
+     * @param visited 已访问的注解, 用于避免注解循环标识
+     */
+    private boolean matches(TypeElement annotationElement, Set<String> visited) {
+        String annotationType = processingEnv.getElementUtils().getBinaryName(annotationElement).toString();
+        Boolean cached = annotationMatches.get(annotationType);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        if (annotationTypes.contains(annotationType)) {
+            annotationMatches.put(annotationType, true);
+            return true;
+        }
+        if (annotationType.startsWith("java.lang.annotation.") || !visited.add(annotationType)) {
+            return false;
+        }
+
+        boolean matches = false;
+        for (AnnotationMirror metaAnnotation : annotationElement.getAnnotationMirrors()) {
+            if (matches((TypeElement) metaAnnotation.getAnnotationType().asElement(), visited)) {
+                matches = true;
+                break;
+            }
+        }
+        annotationMatches.put(annotationType, matches);
+        return matches;
+    }
+
+    /**
+     * 写索引文件
+     */
+    private void writeIndex() {
+        if (index.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# generated by " + getClass().getName() + ", do not edit\n");
+                writer.write(ANNOTATIONS_KEY + "=" + String.join(",", annotationTypes) + "\n");
+                for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write injection point index " + INDEX_LOCATION + ": " + e);
+        }
+    }
+}
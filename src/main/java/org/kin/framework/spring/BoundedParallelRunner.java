@@ -0,0 +1,323 @@
+package org.kin.framework.spring;
+
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在有限线程池中并发执行一批任务, 每个任务有独立的超时时间, 整批任务有总的截止时间
+ * 单个任务异常或者超时不影响其余任务执行, 执行结束后返回每个任务的执行结果和耗时
+ * 超时的任务会被中断, 但不会等待其真正结束, 故执行线程均为daemon线程
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class BoundedParallelRunner {
+    private BoundedParallelRunner() {
+    }
+
+    /**
+     * 并发执行任务
+     *
+     * @param threadNamePrefix 执行线程名前缀
+     * @param tasks            任务
+     * @param parallelism      并发数
+     * @param taskTimeout      单个任务超时时间(毫秒)
+     * @param deadline         整批任务截止时间(毫秒)
+     * @return 执行报告
+     */
+    public static Report run(String threadNamePrefix, List<Task> tasks, int parallelism, long taskTimeout, long deadline) {
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        Assert.isTrue(taskTimeout > 0, "task timeout must be greater than 0");
+        Assert.isTrue(deadline > 0, "deadline must be greater than 0");
+        long startNanos = System.nanoTime();
+        if (tasks.isEmpty()) {
+            return new Report(Collections.emptyList(), 0);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()),
+                new DaemonThreadFactory(threadNamePrefix));
+        ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(
+                new DaemonThreadFactory(threadNamePrefix + "-watchdog"));
+        try {
+            List<Execution> executions = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                Execution execution = new Execution(task, watchdog, taskTimeout);
+                executions.add(execution);
+                executor.execute(execution);
+            }
+
+            long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(deadline);
+            List<TaskResult> results = new ArrayList<>(executions.size());
+            for (Execution execution : executions) {
+                results.add(execution.await(deadlineNanos));
+            }
+            return new Report(results, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        } finally {
+            executor.shutdownNow();
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * 在独立的daemon线程中并发执行任务, 调用线程无需等待, 参数同{@link #run}
+     *
+     * @return 执行报告future, 在该daemon线程中完成
+     */
+    public static CompletableFuture<Report> runAsync(String threadNamePrefix, List<Task> tasks, int parallelism, long taskTimeout, long deadline) {
+        DaemonThreadFactory threadFactory = new DaemonThreadFactory(threadNamePrefix + "-coordinator");
+        return CompletableFuture.supplyAsync(() -> run(threadNamePrefix, tasks, parallelism, taskTimeout, deadline),
+                r -> threadFactory.newThread(r).start());
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 任务
+     */
+    public static final class Task {
+        /** 任务名, 用于报告 */
+        private final String name;
+        /** 任务逻辑 */
+        private final Callable<?> action;
+
+        public Task(String name, Callable<?> action) {
+            this.name = name;
+            this.action = action;
+        }
+
+        //getter
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * 任务执行状态
+     */
+    public enum Status {
+        /** 执行成功 */
+        SUCCESS,
+        /** 执行异常 */
+        FAILED,
+        /** 执行超时 */
+        TIMEOUT,
+        /** 截止时间前未开始执行 */
+        ABORTED,
+    }
+
+    /**
+     * 单个任务执行结果
+     */
+    public static final class TaskResult {
+        /** 任务名 */
+        private final String name;
+        /** 执行状态 */
+        private final Status status;
+        /** 执行耗时(毫秒) */
+        private final long cost;
+        /** 执行异常 */
+        private final Throwable cause;
+
+        TaskResult(String name, Status status, long cost, Throwable cause) {
+            this.name = name;
+            this.status = status;
+            this.cost = cost;
+            this.cause = cause;
+        }
+
+        //getter
+        public String getName() {
+            return name;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+
+        public Throwable getCause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return name + "(" + status + ", " + cost + "ms" + (Objects.nonNull(cause) ? ", " + cause : "") + ")";
+        }
+    }
+
+    /**
+     * 执行报告
+     */
+    public static final class Report {
+        /** 所有任务执行结果, 顺序与任务一致 */
+        private final List<TaskResult> results;
+        /** 总耗时(毫秒) */
+        private final long cost;
+
+        Report(List<TaskResult> results, long cost) {
+            this.results = results;
+            this.cost = cost;
+        }
+
+        /**
+         * @return 执行状态为{@code status}的任务数
+         */
+        public int count(Status status) {
+            int count = 0;
+            for (TaskResult result : results) {
+                if (result.status == status) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * @return 是否所有任务均执行成功
+         */
+        public boolean isAllSuccess() {
+            return count(Status.SUCCESS) == results.size();
+        }
+
+        /**
+         * 执行摘要, 包括各状态任务数, 非成功任务, 以及耗时不小于{@code slowThreshold}的成功任务(按耗时倒序)
+         *
+         * @param slowThreshold 慢任务阈值(毫秒)
+         */
+        public String summary(long slowThreshold) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(results.size()).append(" tasks in ").append(cost).append("ms");
+            for (Status status : Status.values()) {
+                sb.append(", ").append(status.name().toLowerCase()).append(": ").append(count(status));
+            }
+
+            List<TaskResult> notable = new ArrayList<>();
+            for (TaskResult result : results) {
+                if (result.status != Status.SUCCESS || result.cost >= slowThreshold) {
+                    notable.add(result);
+                }
+            }
+            if (!notable.isEmpty()) {
+                notable.sort(Comparator.comparingLong(TaskResult::getCost).reversed());
+                sb.append(", slow or unsuccessful: ").append(notable);
+            }
+            return sb.toString();
+        }
+
+        //getter
+        public List<TaskResult> getResults() {
+            return results;
+        }
+
+        public long getCost() {
+            return cost;
+        }
+    }
+
+    /**
+     * 任务执行, 开始执行时注册超时中断
+     */
+    private static final class Execution extends FutureTask<Object> {
+        private final Task task;
+        private final ScheduledExecutorService watchdog;
+        private final long taskTimeout;
+        /** 是否已开始执行, {@link System#nanoTime()}可能为0或者负数, 故不能以{@link #startNanos}判断 */
+        private volatile boolean started;
+        /** 是否已结束执行 */
+        private volatile boolean ended;
+        /** 开始执行时间, 仅{@link #started}为true时有效 */
+        private volatile long startNanos;
+        /** 结束执行时间, 仅{@link #ended}为true时有效 */
+        private volatile long endNanos;
+        /** 是否因超时被取消 */
+        private volatile boolean timeout;
+
+        Execution(Task task, ScheduledExecutorService watchdog, long taskTimeout) {
+            super(task.action::call);
+            this.task = task;
+            this.watchdog = watchdog;
+            this.taskTimeout = taskTimeout;
+        }
+
+        @Override
+        public void run() {
+            startNanos = System.nanoTime();
+            started = true;
+            ScheduledFuture<?> timeoutFuture = null;
+            try {
+                timeoutFuture = watchdog.schedule(() -> {
+                    timeout = true;
+                    cancel(true);
+                }, taskTimeout, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                //已结束
+            }
+            try {
+                super.run();
+            } finally {
+                endNanos = System.nanoTime();
+                ended = true;
+                if (Objects.nonNull(timeoutFuture)) {
+                    timeoutFuture.cancel(false);
+                }
+            }
+        }
+
+        /**
+         * 等待任务执行结束或者到达截止时间
+         */
+        TaskResult await(long deadlineNanos) {
+            try {
+                get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                return result(Status.SUCCESS, null);
+            } catch (ExecutionException e) {
+                return result(Status.FAILED, e.getCause());
+            } catch (CancellationException e) {
+                return result(timeout ? Status.TIMEOUT : Status.ABORTED, null);
+            } catch (TimeoutException e) {
+                //到达截止时间
+                cancel(true);
+                return result(started ? Status.TIMEOUT : Status.ABORTED, null);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel(true);
+                return result(started ? Status.TIMEOUT : Status.ABORTED, e);
+            }
+        }
+
+        private TaskResult result(Status status, Throwable cause) {
+            long cost = 0;
+            if (started) {
+                long end = ended ? endNanos : System.nanoTime();
+                cost = TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+            }
+            return new TaskResult(task.name, status, cost, cause);
+        }
+    }
+
+    /**
+     * 创建daemon线程
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        DaemonThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(@Nonnull Runnable r) {
+            Thread thread = new Thread(r, namePrefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,22 +2,342 @@ package org.kin.framework.spring;
 
 import org.kin.framework.Closeable;
 import org.kin.framework.JvmCloseCleaner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.Assert;
 
-import java.util.Map;
+import javax.annotation.Nonnull;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 在spring容器中扫描Closeable实现类, 并添加进释放资源队列中
+ * <p>
+ * 仅记录真正创建了的Closeable singleton bean, 不会提前初始化lazy bean, 也不会额外创建prototype bean.
+ * 本processor注册前创建的singleton(比如其他bean post processor及其依赖)无法被记录, 故释放资源前会再扫描一次已创建的Closeable singleton.
+ * 所属context关闭(在spring销毁bean之前)或者jvm关闭时, 按bean依赖顺序释放资源, 即依赖其他bean的bean先释放, 互不依赖的bean并发释放,
+ * 并输出每个bean释放耗时, 仅释放一次. 到达截止时间后, 剩余未释放的bean不再释放, 仅输出日志.
+ * jvm关闭钩子仅弱引用本processor, 故已关闭的context可被回收
  *
  * @author huangjianqin
  * @date 2019/5/29
  */
-public class SpringJvmClosingScanner implements ApplicationContextAware {
+public class SpringJvmClosingScanner implements BeanPostProcessor, BeanFactoryAware, ApplicationContextAware, ApplicationStartupAware, Closeable {
+    private static final Logger log = LoggerFactory.getLogger(SpringJvmClosingScanner.class);
+    /** 登记Closeable bean的startup step name */
+    public static final String REGISTER_STARTUP_STEP = "kin.spring.closeable.register";
+
+    /** 按创建顺序记录的Closeable singleton bean, key -> bean name */
+    private final Map<String, Closeable> closeables = new LinkedHashMap<>();
+    /** 是否已释放资源 */
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private BeanFactory beanFactory;
+    private ApplicationContext applicationContext;
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    /** 并发释放资源的线程数 */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    /** 单个bean释放资源超时时间(毫秒) */
+    private long closeTimeout = TimeUnit.SECONDS.toMillis(10);
+    /** 释放所有bean资源的截止时间(毫秒) */
+    private long closeDeadline = TimeUnit.SECONDS.toMillis(30);
+
+    @Override
+    public void setBeanFactory(@Nonnull BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+        JvmCloseCleaner.instance().addAll(Collections.<Closeable>singletonList(new JvmCloseHook(this)));
+    }
+
+    /**
+     * 监听所属context关闭事件, 子context关闭事件也会传播至本context, 故需判断事件来源
+     */
+    @Override
+    public void setApplicationContext(@Nonnull ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+        if (applicationContext instanceof ConfigurableApplicationContext) {
+            ((ConfigurableApplicationContext) applicationContext).addApplicationListener(new ContextClosedListener());
+        }
+    }
+
+    @Override
+    public void setApplicationStartup(@Nonnull ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
     @Override
-    public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
-        Map<String, Closeable> beanMap = applicationContext.getBeansOfType(Closeable.class);
-        JvmCloseCleaner.instance().addAll(beanMap.values());
+    public Object postProcessAfterInitialization(@Nonnull Object bean, @Nonnull String beanName) throws BeansException {
+        if (!(bean instanceof Closeable)) {
+            return bean;
+        }
+        StartupStep step = applicationStartup.start(REGISTER_STARTUP_STEP)
+                .tag("beanName", beanName)
+                .tag("beanClass", () -> bean.getClass().getName());
+        try {
+            if (isSingleton(beanName)) {
+                synchronized (closeables) {
+                    closeables.put(beanName, (Closeable) bean);
+                }
+            }
+        } finally {
+            step.end();
+        }
+        return bean;
+    }
+
+    /**
+     * 是否是singleton bean, 忽略prototype bean和inner bean
+     */
+    private boolean isSingleton(String beanName) {
+        if (!(beanFactory instanceof ConfigurableListableBeanFactory)) {
+            return beanFactory.isSingleton(beanName);
+        }
+        ConfigurableListableBeanFactory listableBeanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        return listableBeanFactory.containsBeanDefinition(beanName) &&
+                listableBeanFactory.getMergedBeanDefinition(beanName).isSingleton();
+    }
+
+    /**
+     * 按bean依赖顺序分批并发释放资源
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        Map<String, Closeable> closeables;
+        synchronized (this.closeables) {
+            closeables = new LinkedHashMap<>(this.closeables);
+        }
+        collectCreatedCloseables(closeables);
+        if (closeables.isEmpty()) {
+            return;
+        }
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(closeDeadline);
+        List<List<String>> waves = sortByDependency(closeables.keySet());
+        for (int i = 0; i < waves.size(); i++) {
+            List<String> wave = waves.get(i);
+            List<BoundedParallelRunner.Task> tasks = new ArrayList<>(wave.size());
+            for (String beanName : wave) {
+                Closeable closeable = closeables.get(beanName);
+                tasks.add(new BoundedParallelRunner.Task(beanName, () -> {
+                    closeable.close();
+                    return null;
+                }));
+            }
+
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            if (remaining <= 0) {
+                if (log.isWarnEnabled()) {
+                    List<String> unclosedBeanNames = new ArrayList<>();
+                    waves.subList(i, waves.size()).forEach(unclosedBeanNames::addAll);
+                    log.warn("close beans exceed deadline {}ms, {} beans are not closed: {}",
+                            closeDeadline, unclosedBeanNames.size(), unclosedBeanNames);
+                }
+                return;
+            }
+            BoundedParallelRunner.Report report = BoundedParallelRunner.run("spring-jvm-closing", tasks, parallelism,
+                    closeTimeout, remaining);
+            //列出每个bean的释放耗时
+            if (report.isAllSuccess()) {
+                if (log.isInfoEnabled()) {
+                    log.info("close beans, wave " + (i + 1) + "/" + waves.size() + ": " + report.summary(0));
+                }
+            } else {
+                if (log.isWarnEnabled()) {
+                    log.warn("close beans, wave " + (i + 1) + "/" + waves.size() + ": " + report.summary(0));
+                }
+            }
+        }
+    }
+
+    /**
+     * 补充{@link #postProcessAfterInitialization}未记录的已创建Closeable singleton, 比如本processor注册前创建的bean
+     * 仅获取已创建的singleton, 不会创建bean
+     */
+    private void collectCreatedCloseables(Map<String, Closeable> closeables) {
+        if (!(beanFactory instanceof ConfigurableListableBeanFactory)) {
+            return;
+        }
+        ConfigurableListableBeanFactory listableBeanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        for (String beanName : listableBeanFactory.getBeanNamesForType(Closeable.class, false, false)) {
+            if (closeables.containsKey(beanName) || !listableBeanFactory.containsSingleton(beanName)) {
+                continue;
+            }
+            Object singleton = listableBeanFactory.getSingleton(beanName);
+            if (singleton instanceof Closeable && singleton != this) {
+                closeables.put(beanName, (Closeable) singleton);
+            }
+        }
+    }
+
+    /**
+     * 按bean依赖关系分批, 同一批次的bean互不依赖, 可并发释放
+     * 被依赖的bean排在依赖它的bean之后, 依赖关系通过非Closeable bean传递
+     *
+     * @param beanNames 按创建顺序排列的bean name
+     * @return 按释放顺序排列的批次
+     */
+    private List<List<String>> sortByDependency(Collection<String> beanNames) {
+        if (!(beanFactory instanceof ConfigurableListableBeanFactory)) {
+            //无法获取依赖关系, 则按创建顺序逆序逐个释放
+            List<List<String>> waves = new ArrayList<>(beanNames.size());
+            for (String beanName : beanNames) {
+                waves.add(0, Collections.singletonList(beanName));
+            }
+            return waves;
+        }
+
+        DependentDepths dependentDepths = new DependentDepths((ConfigurableListableBeanFactory) beanFactory, new HashSet<>(beanNames));
+        TreeMap<Integer, List<String>> waves = new TreeMap<>();
+        for (String beanName : beanNames) {
+            waves.computeIfAbsent(dependentDepths.get(beanName), k -> new ArrayList<>()).add(beanName);
+        }
+        return new ArrayList<>(waves.values());
+    }
+
+    //setter
+    public void setParallelism(int parallelism) {
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        this.parallelism = parallelism;
+    }
+
+    public void setCloseTimeout(long closeTimeout) {
+        Assert.isTrue(closeTimeout > 0, "closeTimeout must be greater than 0");
+        this.closeTimeout = closeTimeout;
+    }
+
+    public void setCloseDeadline(long closeDeadline) {
+        Assert.isTrue(closeDeadline > 0, "closeDeadline must be greater than 0");
+        this.closeDeadline = closeDeadline;
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 计算依赖某bean的Closeable bean最长链的长度, 即该bean需在多少批Closeable bean之后释放, 依赖关系通过非Closeable bean传递
+     * <p>
+     * 基于Tarjan算法求强连通分量, 每个bean及其依赖关系仅访问一次, 即O(V+E). 强连通分量按逆拓扑序完成,
+     * 完成时其依赖方所在分量的结果均已确定, 故可直接求出最长链. 循环依赖的bean属于同一强连通分量, 结果相同, 即在同一批次释放
+     */
+    private static final class DependentDepths {
+        private final ConfigurableListableBeanFactory beanFactory;
+        /** 需释放的bean name */
+        private final Set<String> closeableNames;
+        /** key -> bean name, value -> 访问序号 */
+        private final Map<String, Integer> indexes = new HashMap<>();
+        /** key -> bean name, value -> 所能回溯到的最小访问序号 */
+        private final Map<String, Integer> lowLinks = new HashMap<>();
+        /** key -> bean name, value -> 依赖该bean的bean */
+        private final Map<String, String[]> dependentBeans = new HashMap<>();
+        /** 尚未归入强连通分量的bean */
+        private final Deque<String> stack = new ArrayDeque<>();
+        private final Set<String> onStack = new HashSet<>();
+        /** key -> bean name, value -> 依赖该bean的Closeable bean最长链的长度 */
+        private final Map<String, Integer> depths = new HashMap<>();
+
+        DependentDepths(ConfigurableListableBeanFactory beanFactory, Set<String> closeableNames) {
+            this.beanFactory = beanFactory;
+            this.closeableNames = closeableNames;
+        }
+
+        int get(String beanName) {
+            if (!indexes.containsKey(beanName)) {
+                strongConnect(beanName);
+            }
+            return depths.get(beanName);
+        }
+
+        private void strongConnect(String beanName) {
+            int index = indexes.size();
+            indexes.put(beanName, index);
+            lowLinks.put(beanName, index);
+            stack.push(beanName);
+            onStack.add(beanName);
+
+            String[] dependents = beanFactory.getDependentBeans(beanName);
+            dependentBeans.put(beanName, dependents);
+            for (String dependent : dependents) {
+                if (!indexes.containsKey(dependent)) {
+                    strongConnect(dependent);
+                    lowLinks.put(beanName, Math.min(lowLinks.get(beanName), lowLinks.get(dependent)));
+                } else if (onStack.contains(dependent)) {
+                    lowLinks.put(beanName, Math.min(lowLinks.get(beanName), indexes.get(dependent)));
+                }
+            }
+
+            if (lowLinks.get(beanName) != index) {
+                return;
+            }
+            //beanName为强连通分量的根, 出栈该分量所有bean
+            List<String> component = new ArrayList<>();
+            String member;
+            do {
+                member = stack.pop();
+                onStack.remove(member);
+                component.add(member);
+            } while (!member.equals(beanName));
+
+            //分量外的依赖方均已完成计算, 分量内的依赖不增加长度
+            Set<String> members = new HashSet<>(component);
+            int depth = 0;
+            for (String bean : component) {
+                for (String dependent : dependentBeans.get(bean)) {
+                    if (members.contains(dependent)) {
+                        continue;
+                    }
+                    depth = Math.max(depth, depths.get(dependent) + (closeableNames.contains(dependent) ? 1 : 0));
+                }
+            }
+            for (String bean : component) {
+                depths.put(bean, depth);
+            }
+        }
+    }
+
+    /**
+     * 所属context关闭事件监听器, 在spring销毁bean之前释放资源
+     */
+    private class ContextClosedListener implements ApplicationListener<ContextClosedEvent> {
+        @Override
+        public void onApplicationEvent(@Nonnull ContextClosedEvent event) {
+            if (event.getApplicationContext() == applicationContext) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * 注册至{@link JvmCloseCleaner}的jvm关闭钩子, 仅弱引用{@link SpringJvmClosingScanner}, 以免阻止已关闭的context被回收
+     */
+    private static final class JvmCloseHook implements Closeable {
+        private final WeakReference<SpringJvmClosingScanner> scannerRef;
+
+        JvmCloseHook(SpringJvmClosingScanner scanner) {
+            this.scannerRef = new WeakReference<>(scanner);
+        }
+
+        @Override
+        public void close() {
+            SpringJvmClosingScanner scanner = scannerRef.get();
+            if (Objects.nonNull(scanner)) {
+                scanner.close();
+            }
+        }
     }
 }
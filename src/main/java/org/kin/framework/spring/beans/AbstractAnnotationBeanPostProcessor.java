@@ -1,36 +1,67 @@
 package org.kin.framework.spring.beans;
 
-import org.kin.framework.utils.CollectionUtils;
+import org.kin.framework.spring.BoundedParallelRunner;
+import org.kin.framework.spring.beans.InjectionPointIndex.IndexedMembers;
+import org.kin.framework.spring.beans.metrics.InjectionMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.target.AbstractLazyCreationTargetSource;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeansException;
 import org.springframework.beans.PropertyValues;
 import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.SmartInstantiationAwareBeanPostProcessor;
 import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
 import org.springframework.beans.factory.support.RootBeanDefinition;
-import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.CollectionFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ApplicationStartupAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotation.Adapt;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.beans.PropertyDescriptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static org.springframework.aop.support.AopUtils.getTargetClass;
 import static org.springframework.core.BridgeMethodResolver.findBridgedMethod;
 import static org.springframework.core.BridgeMethodResolver.isVisibilityBridgeMethodPair;
-import static org.springframework.core.GenericTypeResolver.resolveTypeArgument;
 
 /**
  * 利用spring {@link SmartInstantiationAwareBeanPostProcessor} 处理自定义注解注入逻辑
@@ -38,22 +69,165 @@ import static org.springframework.core.GenericTypeResolver.resolveTypeArgument;
  * @author huangjianqin
  * @date 2020/12/14
  */
-public abstract class AbstractAnnotationBeanPostProcessor implements SmartInstantiationAwareBeanPostProcessor, MergedBeanDefinitionPostProcessor, DisposableBean {
+public abstract class AbstractAnnotationBeanPostProcessor implements SmartInstantiationAwareBeanPostProcessor, MergedBeanDefinitionPostProcessor,
+        BeanFactoryAware, BeanClassLoaderAware, ApplicationContextAware, ApplicationStartupAware, DisposableBean {
+    /** 不存在任何注入点的class的元数据标识 */
+    private static final AnnotatedInjectionMetadata EMPTY_METADATA =
+            new AnnotatedInjectionMetadata(Object.class, Collections.emptyList(), Collections.emptyList());
+
+    /** 被注入对象销毁耗时超过该值(毫秒), 则在销毁摘要中列出 */
+    private static final long SLOW_DESTROY_THRESHOLD = 1000;
+    /** 注解中标识是否延迟获取被注入对象的属性名 */
+    public static final String LAZY_ATTRIBUTE = "lazy";
+    /** 构建注入元数据的startup step name */
+    public static final String METADATA_STARTUP_STEP = "kin.spring.injection.metadata";
+    /** bean注入的startup step name */
+    public static final String INJECT_STARTUP_STEP = "kin.spring.injection.inject";
+    /** 单个注入点注入的startup step name */
+    public static final String INJECTION_POINT_STARTUP_STEP = "kin.spring.injection.point";
+
     private final Logger log = LoggerFactory.getLogger(getClass());
     /** 需处理的注解 */
     private final Class<? extends Annotation>[] annotationTypes;
-    /** 注解元数据 */
-    private final ConcurrentMap<String, AnnotatedInjectionMetadata> injectionMetadataCache =
-            new ConcurrentHashMap<>(32);
+    /** 需处理的注解, 用于快速判断class是否可能带需处理的注解 */
+    private final List<Class<? extends Annotation>> annotationTypeList;
+    /**
+     * 注解元数据, 以bean class为key, 同一class的所有bean(包括prototype bean)共享同一份元数据
+     * 不存在注入点的class缓存{@link #EMPTY_METADATA}
+     * 基于{@link ConcurrentMap#computeIfAbsent(Object, Function)}实现每个class仅构建一次, 且不同class之间可以并发构建
+     * 仅缓存相对于{@link #beanClassLoader} cache safe的class, 即由同一class loader或其父class loader加载
+     */
+    private final ConcurrentMap<Class<?>, AnnotatedInjectionMetadata> injectionMetadataCache =
+            new ConcurrentHashMap<>(256);
+    /**
+     * 非cache safe的class的注解元数据, 比如动态生成或者由子class loader加载的class, 每个class同样仅构建一次
+     * 元数据持有class及其成员的强引用, 弱引用key无法使class loader被回收, 故强引用缓存, 由{@link #release(ClassLoader)}释放,
+     * 加载该class的子context关闭时自动释放
+     */
+    private final ConcurrentMap<Class<?>, AnnotatedInjectionMetadata> nonCacheSafeInjectionMetadataCache = new ConcurrentHashMap<>(64);
+    /**
+     * key -> bean name, value -> 该bean需注入的注入点, 即排除了已被其他processor管理的成员(external managed config member)
+     * 注入元数据按class共享, 而已被管理的成员按bean definition区分, 故按bean name记录, 仅记录需排除部分注入点的bean
+     */
+    private final ConcurrentMap<String, List<AbstractAnnotatedElement>> checkedElements = new ConcurrentHashMap<>();
     /** 被注入的对象缓存 */
-    private final ConcurrentMap<String, Object> injectedObjectsCache = new ConcurrentHashMap<>(32);
+    private final ConcurrentMap<InjectedObjectCacheKey, Object> injectedObjectsCache = new ConcurrentHashMap<>(32);
+    /** 正在创建的被注入对象, 保证同一缓存key的被注入对象仅创建一次 */
+    private final ConcurrentMap<InjectedObjectCacheKey, InjectedObjectCreation> creatingInjectedObjects = new ConcurrentHashMap<>(32);
+    /** 延迟获取被注入对象的代理, 首次调用其方法时才会真正获取被注入对象 */
+    private final ConcurrentMap<InjectedObjectCacheKey, Object> lazyProxiesCache = new ConcurrentHashMap<>(32);
+    /** 被注入对象创建次数 */
+    private final LongAdder injectedObjectCreations = new LongAdder();
+    /** 被注入对象重复创建次数 */
+    private final LongAdder duplicateInjectedObjectCreations = new LongAdder();
+    /** 等待其他线程创建被注入对象的次数 */
+    private final LongAdder singleFlightWaits = new LongAdder();
+    /** 等待其他线程创建被注入对象超时的次数 */
+    private final LongAdder singleFlightWaitTimeouts = new LongAdder();
+    /** 等待其他线程创建被注入对象的超时时间(毫秒) */
+    private long singleFlightWaitTimeout = TimeUnit.SECONDS.toMillis(10);
+    /** 为非singleton bean创建的被注入对象缓存key, 按创建顺序排列, 仅开启{@link #maxNonSingletonInjectedObjects}时记录 */
+    private final Set<InjectedObjectCacheKey> nonSingletonInjectedObjectKeys = new LinkedHashSet<>();
+    /** 被singleton bean使用过的被注入对象缓存key, 不会被淘汰, 仅开启{@link #maxNonSingletonInjectedObjects}时记录, 需持有{@link #nonSingletonInjectedObjectKeys}锁修改 */
+    private final Set<InjectedObjectCacheKey> singletonInjectedObjectKeys = ConcurrentHashMap.newKeySet();
+    /** 已被淘汰但需销毁的被注入对象, 可能仍被存活的非singleton bean引用, 故延迟至{@link #destroy()}或者{@link #release(ClassLoader)}时销毁, 需持有自身锁访问 */
+    private final List<Object> retainedInjectedObjects = new ArrayList<>();
+    /** key -> 被注入对象缓存key, value -> 首个请求该被注入对象且非由{@link #beanClassLoader}加载的bean的class loader, 用于{@link #release(ClassLoader)} */
+    private final ConcurrentMap<InjectedObjectCacheKey, ClassLoader> requesterClassLoaders = new ConcurrentHashMap<>();
+    /** 被淘汰或者释放的被注入对象数量 */
+    private final LongAdder injectedObjectEvictions = new LongAdder();
+    /** 被释放的注解元数据数量 */
+    private final LongAdder metadataEvictions = new LongAdder();
+    /** 调用{@link #doBatchGetInjectedBeans}的次数 */
+    private final LongAdder injectedObjectBatches = new LongAdder();
+    /** 批量预获取的被注入对象数量 */
+    private final LongAdder batchedInjectedObjects = new LongAdder();
+    /** 单次调用{@link #doBatchGetInjectedBeans}的最大请求数, 小于等于0则不批量预获取 */
+    private int injectedObjectBatchSize = 256;
+    /** 为非singleton bean创建的被注入对象最大缓存数量, 超过则淘汰最早创建的, 小于等于0则不限制 */
+    private int maxNonSingletonInjectedObjects;
+    /** 是否异步获取被注入对象, 即bean所有注入点并发获取被注入对象, 需配合{@link #doGetInjectedBeanAsync}使用 */
+    private boolean asyncInjection;
+    /** 异步获取bean所有被注入对象的超时时间(毫秒) */
+    private long asyncInjectionTimeout = TimeUnit.MINUTES.toMillis(1);
+    /** 是否延迟获取被注入对象, 即注入接口代理, 首次调用其方法时才真正获取被注入对象 */
+    private boolean lazyInjection;
+    /** 并发销毁被注入对象的线程数 */
+    private int destroyParallelism = Runtime.getRuntime().availableProcessors();
+    /** 单个被注入对象销毁超时时间(毫秒) */
+    private long destroyTimeout = TimeUnit.SECONDS.toMillis(10);
+    /** 销毁所有被注入对象的截止时间(毫秒) */
+    private long destroyDeadline = TimeUnit.SECONDS.toMillis(30);
+    /** 是否在context refresh完成时预热被注入对象 */
+    private boolean warmUp;
+    /** 并发预热被注入对象的线程数 */
+    private int warmUpParallelism = Runtime.getRuntime().availableProcessors();
+    /** 单个被注入对象预热超时时间(毫秒) */
+    private long warmUpTimeout = TimeUnit.SECONDS.toMillis(10);
+    /** 预热所有被注入对象的截止时间(毫秒) */
+    private long warmUpDeadline = TimeUnit.SECONDS.toMillis(30);
+    /** 所属context, 用于区分子context的refresh事件以及发布预热结束事件 */
+    private ApplicationContext applicationContext;
+    /** 需处理的bean class包名前缀, 为空则处理所有包 */
+    private String[] includePackages = new String[0];
+    /** 无需处理的bean class包名前缀, 优先于{@link #includePackages} */
+    private String[] excludePackages = new String[0];
+    /** 是否跳过{@link BeanDefinition#ROLE_INFRASTRUCTURE}的bean */
+    private boolean skipInfrastructureBeans;
+    /** bean class过滤器, 返回false则跳过, 为null则不过滤 */
+    @Nullable
+    private Predicate<Class<?>> beanClassFilter;
+    /** 被过滤器跳过的bean数量 */
+    private final LongAdder skippedBeans = new LongAdder();
+    /** 被过滤器跳过的bean name, 保证每个bean仅计数一次 */
+    private final Set<String> skippedBeanNames = ConcurrentHashMap.newKeySet();
+    /** 是否与父context同类型processor共享被注入对象 */
+    private boolean shareWithParent;
+    /** 父context同类型processor, 仅开启{@link #shareWithParent}时解析 */
+    @Nullable
+    private volatile AbstractAnnotationBeanPostProcessor parentProcessor;
+    /** 是否已解析{@link #parentProcessor} */
+    private volatile boolean parentProcessorResolved;
+    /** 借用自{@link #parentProcessor}或者登记至其共享的被注入对象缓存key, 移出缓存时需归还, 而不是销毁 */
+    private final Set<InjectedObjectCacheKey> borrowedInjectedObjectKeys = ConcurrentHashMap.newKeySet();
+    /** key -> 被子context共享的被注入对象缓存key, value -> 共享的子context processor数量, 需持有自身锁访问 */
+    private final Map<InjectedObjectCacheKey, Integer> sharedReferences = new HashMap<>();
+    /**
+     * 被子context共享但不在本processor缓存中的被注入对象, 即子context创建后登记的, 以及本processor已移出缓存但仍被共享的,
+     * 最后一个子context归还时才销毁, 需持有{@link #sharedReferences}锁访问
+     */
+    private final Map<InjectedObjectCacheKey, Object> sharedInjectedObjects = new HashMap<>();
+    /** 是否已销毁 */
+    private volatile boolean destroyed;
+    /** 是否已触发{@link InjectionMetadataPreWarmer}预热, 仅在处理首个bean时触发一次 */
+    private final AtomicBoolean prewarmTriggered = new AtomicBoolean();
+    /**
+     * 子context获取或者登记共享的被注入对象时持有读锁, {@link #destroy()}标记已销毁并收集需销毁的被注入对象时持有写锁,
+     * 保证共享要么在销毁前完成(被共享的被注入对象延迟至归还时销毁), 要么发现已销毁而由子context自行创建并持有
+     */
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    /** 注入流程metrics, 默认不收集 */
+    private InjectionMetrics metrics = InjectionMetrics.NOOP;
+    /** 是否收集metrics, 未开启时注入流程不会计时也不会回调{@link #metrics} */
+    private boolean metricsEnabled;
+    @Nullable
+    private ConfigurableListableBeanFactory beanFactory;
+    /** 判断bean class是否cache safe的class loader */
+    @Nullable
+    private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
+    private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+    /** 是否记录startup step, {@link ApplicationStartup#DEFAULT}不记录任何信息, 故无需创建step */
+    private boolean startupTracking;
 
     /**
      * @param annotationTypes the multiple types of {@link Annotation annotations}
      */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
     protected AbstractAnnotationBeanPostProcessor(Class<? extends Annotation>... annotationTypes) {
         Assert.notEmpty(annotationTypes, "The argument of annotations' types must not empty");
         this.annotationTypes = annotationTypes;
+        this.annotationTypeList = Arrays.asList(annotationTypes);
     }
 
     /**
@@ -63,215 +237,1724 @@ public abstract class AbstractAnnotationBeanPostProcessor implements SmartInstan
         return annotationTypes;
     }
 
+    /**
+     * 开启延迟获取被注入对象, 被注入类型为接口时, 注入轻量级代理, 首次调用代理方法时才调用{@link #doGetInjectedBean}获取被注入对象
+     * 也可以通过注解属性{@value #LAZY_ATTRIBUTE}单独开启某个注入点
+     *
+     * @param lazyInjection 是否开启
+     */
+    public void setLazyInjection(boolean lazyInjection) {
+        this.lazyInjection = lazyInjection;
+    }
+
+    /**
+     * @param destroyParallelism 并发销毁被注入对象的线程数
+     */
+    public void setDestroyParallelism(int destroyParallelism) {
+        Assert.isTrue(destroyParallelism > 0, "destroyParallelism must be greater than 0");
+        this.destroyParallelism = destroyParallelism;
+    }
+
+    /**
+     * @param destroyTimeout 单个被注入对象销毁超时时间(毫秒), 超时则中断并放弃等待
+     */
+    public void setDestroyTimeout(long destroyTimeout) {
+        Assert.isTrue(destroyTimeout > 0, "destroyTimeout must be greater than 0");
+        this.destroyTimeout = destroyTimeout;
+    }
+
+    /**
+     * @param destroyDeadline 销毁所有被注入对象的截止时间(毫秒), 到达截止时间, 则放弃等待未完成的销毁
+     */
+    public void setDestroyDeadline(long destroyDeadline) {
+        Assert.isTrue(destroyDeadline > 0, "destroyDeadline must be greater than 0");
+        this.destroyDeadline = destroyDeadline;
+    }
+
+    /**
+     * 开启被注入对象预热, context refresh完成时, 并发调用所有被注入对象的{@link #warmUpInjectedObject},
+     * 结束后在预热线程中发布{@link InjectedObjectsWarmedUpEvent}. 预热在独立线程中执行, 不会阻塞refresh, 预热期间context关闭则不发布事件
+     *
+     * @param warmUp 是否开启
+     */
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    /**
+     * @param warmUpParallelism 并发预热被注入对象的线程数
+     */
+    public void setWarmUpParallelism(int warmUpParallelism) {
+        Assert.isTrue(warmUpParallelism > 0, "warmUpParallelism must be greater than 0");
+        this.warmUpParallelism = warmUpParallelism;
+    }
+
+    /**
+     * @param warmUpTimeout 单个被注入对象预热超时时间(毫秒), 超时则中断并放弃等待
+     */
+    public void setWarmUpTimeout(long warmUpTimeout) {
+        Assert.isTrue(warmUpTimeout > 0, "warmUpTimeout must be greater than 0");
+        this.warmUpTimeout = warmUpTimeout;
+    }
+
+    /**
+     * @param warmUpDeadline 预热所有被注入对象的截止时间(毫秒), 到达截止时间, 则放弃等待未完成的预热
+     */
+    public void setWarmUpDeadline(long warmUpDeadline) {
+        Assert.isTrue(warmUpDeadline > 0, "warmUpDeadline must be greater than 0");
+        this.warmUpDeadline = warmUpDeadline;
+    }
+
+    /**
+     * 仅处理bean class位于指定包(包括子包)下的bean, 其余bean不会被反射扫描注入点
+     *
+     * @param includePackages 包名, 为空则处理所有包
+     */
+    public void setIncludePackages(String... includePackages) {
+        this.includePackages = normalizePackages(includePackages);
+    }
+
+    /**
+     * 跳过bean class位于指定包(包括子包)下的bean, 比如第三方库的包, 优先于{@link #setIncludePackages(String...)}
+     *
+     * @param excludePackages 包名
+     */
+    public void setExcludePackages(String... excludePackages) {
+        this.excludePackages = normalizePackages(excludePackages);
+    }
+
+    /**
+     * @param skipInfrastructureBeans 是否跳过{@link BeanDefinition#ROLE_INFRASTRUCTURE}的bean, 即spring内部使用的bean
+     */
+    public void setSkipInfrastructureBeans(boolean skipInfrastructureBeans) {
+        this.skipInfrastructureBeans = skipInfrastructureBeans;
+    }
+
+    /**
+     * 在包名过滤后执行, 每个bean都会调用, 需足够轻量
+     *
+     * @param beanClassFilter bean class过滤器, 返回false则跳过该bean
+     */
+    public void setBeanClassFilter(@Nullable Predicate<Class<?>> beanClassFilter) {
+        this.beanClassFilter = beanClassFilter;
+    }
+
+    /**
+     * 开启与父context共享被注入对象, 本地缓存未命中时, 先向最近的祖先context中同类型processor借用其缓存或者其他子context已登记的被注入对象,
+     * 均不存在时由本processor以自身的创建逻辑创建, 再登记至祖先processor, 使得多个子context(比如多租户, 插件)仅创建一份被注入对象.
+     * 祖先processor不会替子context创建被注入对象, 仅按引用计数管理被共享的被注入对象, 所有共享的context均关闭后才会被销毁;
+     * 祖先context自身的bean不会使用子context登记的被注入对象
+     * <p>
+     * 要求缓存key在所有context中含义一致, 即同一缓存key在不同context中获取的被注入对象可互相替代
+     *
+     * @param shareWithParent 是否开启
+     */
+    public void setShareWithParent(boolean shareWithParent) {
+        this.shareWithParent = shareWithParent;
+    }
+
+    /**
+     * 包名统一以'.'结尾, 以免com.foo匹配com.foobar
+     */
+    private static String[] normalizePackages(String... packages) {
+        List<String> normalized = new ArrayList<>(packages.length);
+        for (String pkg : packages) {
+            if (StringUtils.hasText(pkg)) {
+                pkg = pkg.trim();
+                normalized.add(pkg.endsWith(".") ? pkg : pkg + ".");
+            }
+        }
+        return normalized.toArray(new String[0]);
+    }
+
+    /**
+     * 开启异步获取被注入对象, bean所有注入点并发获取被注入对象, 全部完成后再注入
+     *
+     * @param asyncInjection 是否开启
+     */
+    public void setAsyncInjection(boolean asyncInjection) {
+        this.asyncInjection = asyncInjection;
+    }
+
+    /**
+     * 创建线程获取被注入对象时可能需要获取spring singleton锁, 而该锁可能正被等待线程持有, 故等待需有超时,
+     * 超时则等待线程抛出{@link BeanCreationException}, 而不会重复创建被注入对象
+     *
+     * @param singleFlightWaitTimeout 等待其他线程创建被注入对象的超时时间(毫秒)
+     */
+    public void setSingleFlightWaitTimeout(long singleFlightWaitTimeout) {
+        Assert.isTrue(singleFlightWaitTimeout > 0, "singleFlightWaitTimeout must be greater than 0");
+        this.singleFlightWaitTimeout = singleFlightWaitTimeout;
+    }
+
+    /**
+     * @param asyncInjectionTimeout 异步获取bean所有被注入对象的超时时间(毫秒), 超时则bean创建失败
+     */
+    public void setAsyncInjectionTimeout(long asyncInjectionTimeout) {
+        Assert.isTrue(asyncInjectionTimeout > 0, "asyncInjectionTimeout must be greater than 0");
+        this.asyncInjectionTimeout = asyncInjectionTimeout;
+    }
+
+    /**
+     * @param metrics 注入流程metrics
+     */
+    public void setMetrics(InjectionMetrics metrics) {
+        Assert.notNull(metrics, "metrics must not be null");
+        this.metrics = metrics;
+        this.metricsEnabled = metrics.isEnabled();
+    }
+
+    /**
+     * @return 注入流程metrics
+     */
+    public InjectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public void setBeanFactory(@Nonnull BeanFactory beanFactory) throws BeansException {
+        if (beanFactory instanceof ConfigurableListableBeanFactory) {
+            this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+        }
+    }
+
+    @Override
+    public void setBeanClassLoader(@Nonnull ClassLoader beanClassLoader) {
+        this.beanClassLoader = beanClassLoader;
+    }
+
+    /**
+     * 监听context关闭事件, 子context关闭事件也会传播至本context, 子类重写时需调用super
+     */
+    @Override
+    public void setApplicationContext(@Nonnull ApplicationContext applicationContext) throws BeansException {
+        this.applicationContext = applicationContext;
+        if (applicationContext instanceof ConfigurableApplicationContext) {
+            ((ConfigurableApplicationContext) applicationContext).addApplicationListener(new ContextClosedListener());
+            ((ConfigurableApplicationContext) applicationContext).addApplicationListener(new ContextRefreshedListener());
+        }
+    }
+
+    /**
+     * 限制仅被非singleton bean(比如prototype bean)使用的被注入对象缓存数量, 超过则按创建顺序淘汰最早创建的, 被singleton bean使用过的被注入对象不会被淘汰
+     * 被淘汰的被注入对象仅从缓存中移除, 因为其可能仍被存活的bean引用, 实现{@link DisposableBean}的会保留至{@link #destroy()}或者{@link #release(ClassLoader)}时销毁
+     *
+     * @param maxNonSingletonInjectedObjects 最大缓存数量, 小于等于0则不限制
+     */
+    public void setMaxNonSingletonInjectedObjects(int maxNonSingletonInjectedObjects) {
+        this.maxNonSingletonInjectedObjects = maxNonSingletonInjectedObjects;
+    }
+
+    /**
+     * 设置单次调用{@link #doBatchGetInjectedBeans}的最大请求数, 仅当子类支持批量获取时生效
+     *
+     * @param injectedObjectBatchSize 最大请求数, 小于等于0则不批量预获取
+     */
+    public void setInjectedObjectBatchSize(int injectedObjectBatchSize) {
+        this.injectedObjectBatchSize = injectedObjectBatchSize;
+    }
+
+    @Override
+    public void setApplicationStartup(@Nonnull ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+        this.startupTracking = applicationStartup != ApplicationStartup.DEFAULT;
+    }
+
     @Override
     public PropertyValues postProcessProperties(
             @Nonnull PropertyValues pvs, @Nonnull Object bean, @Nonnull String beanName) throws BeanCreationException {
-        InjectionMetadata metadata = findInjectionMetadata(beanName, bean.getClass(), pvs);
+        prewarmOnce();
+        if (isSkipped(bean.getClass(), beanName)) {
+            return pvs;
+        }
+        AnnotatedInjectionMetadata metadata = findInjectionMetadata(bean.getClass());
         if (Objects.nonNull(metadata)) {
+            if (metricsEnabled && isPrototype(beanName)) {
+                metrics.onPrototypeInjection(bean.getClass(), metadata.getElements().size());
+            }
+            StartupStep step = null;
+            if (startupTracking) {
+                step = applicationStartup.start(INJECT_STARTUP_STEP)
+                        .tag("beanName", beanName)
+                        .tag("beanClass", bean.getClass().getName());
+            }
             try {
-                metadata.inject(bean, beanName, pvs);
+                List<AbstractAnnotatedElement> elements = getCheckedElements(metadata, beanName);
+                if (asyncInjection) {
+                    injectAsync(elements, bean, beanName);
+                } else {
+                    for (AbstractAnnotatedElement element : elements) {
+                        element.inject(bean, beanName, pvs);
+                    }
+                }
             } catch (BeanCreationException ex) {
                 throw ex;
             } catch (Throwable ex) {
                 throw new BeanCreationException(beanName, "Injection of @" + getAnnotationTypes()[0].getSimpleName()
                         + " dependencies is failed", ex);
+            } finally {
+                if (Objects.nonNull(step)) {
+                    step.end();
+                }
+            }
+        }
+        return pvs;
+    }
+
+    /**
+     * 在反射扫描注入点前, 根据包名, bean role以及{@link #beanClassFilter}判断是否跳过该bean
+     * 注入, 合并bean definition以及预热等流程均会判断, 故跳过的bean按bean name计数, 每个bean仅计数一次
+     *
+     * @param beanName bean name, 为null则仅根据bean class判断
+     * @return 是否跳过
+     */
+    private boolean isSkipped(Class<?> beanClass, @Nullable String beanName) {
+        boolean skipped = matchesSkipFilter(beanClass, beanName);
+        if (skipped && Objects.nonNull(beanName) && skippedBeanNames.add(beanName)) {
+            skippedBeans.increment();
+        }
+        return skipped;
+    }
+
+    /**
+     * @return 是否匹配包名, bean role或者{@link #beanClassFilter}过滤条件
+     */
+    private boolean matchesSkipFilter(Class<?> beanClass, @Nullable String beanName) {
+        String className = beanClass.getName();
+        for (String excludePackage : excludePackages) {
+            if (className.startsWith(excludePackage)) {
+                return true;
+            }
+        }
+        if (includePackages.length > 0) {
+            boolean included = false;
+            for (String includePackage : includePackages) {
+                if (className.startsWith(includePackage)) {
+                    included = true;
+                    break;
+                }
+            }
+            if (!included) {
+                return true;
+            }
+        }
+        if (Objects.nonNull(beanClassFilter) && !beanClassFilter.test(beanClass)) {
+            return true;
+        }
+        return skipInfrastructureBeans && Objects.nonNull(beanName) && Objects.nonNull(beanFactory) &&
+                beanFactory.containsBeanDefinition(beanName) &&
+                beanFactory.getMergedBeanDefinition(beanName).getRole() == BeanDefinition.ROLE_INFRASTRUCTURE;
+    }
+
+    /**
+     * 是否是非singleton bean, inner bean或者无法获取bean definition则返回false
+     */
+    private boolean isNonSingleton(String beanName) {
+        return Objects.nonNull(beanFactory) && beanFactory.containsBeanDefinition(beanName) &&
+                !beanFactory.getMergedBeanDefinition(beanName).isSingleton();
+    }
+
+    /**
+     * 是否是prototype bean, inner bean或者无法获取bean definition则返回false
+     */
+    private boolean isPrototype(String beanName) {
+        return Objects.nonNull(beanFactory) && beanFactory.containsBeanDefinition(beanName) &&
+                beanFactory.getMergedBeanDefinition(beanName).isPrototype();
+    }
+
+    /**
+     * @return {@code beanName}需注入的注入点, 同步和异步注入均使用
+     */
+    private List<AbstractAnnotatedElement> getCheckedElements(AnnotatedInjectionMetadata metadata, String beanName) {
+        List<AbstractAnnotatedElement> elements = checkedElements.get(beanName);
+        return Objects.nonNull(elements) ? elements : metadata.getElements();
+    }
+
+    /**
+     * 并发获取bean所有注入点的被注入对象, 并在{@link #asyncInjectionTimeout}内等待全部完成后再注入
+     */
+    private void injectAsync(List<AbstractAnnotatedElement> elements, Object bean, String beanName) throws Throwable {
+        List<CompletableFuture<Object>> futures = new ArrayList<>(elements.size());
+        for (AbstractAnnotatedElement element : elements) {
+            futures.add(element.resolveAsync(bean, beanName));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.stream().filter(Objects::nonNull).toArray(CompletableFuture[]::new))
+                    .get(asyncInjectionTimeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new BeanCreationException(beanName, "Injection of @" + getAnnotationTypes()[0].getSimpleName()
+                    + " dependencies is not completed within " + asyncInjectionTimeout + "ms", e);
+        }
+
+        for (int i = 0; i < elements.size(); i++) {
+            CompletableFuture<Object> future = futures.get(i);
+            if (Objects.nonNull(future)) {
+                elements.get(i).injectResolved(bean, future.join());
+            }
+        }
+    }
+
+    /**
+     * 获取成员上第一个需处理的注解属性
+     *
+     * @param annotations 成员上的注解, 包括meta-annotations
+     * @return 注解属性, 如果不存在需处理的注解, 则返回null
+     */
+    @Nullable
+    private MergedAnnotation<?> findMergedAnnotation(MergedAnnotations annotations) {
+        for (Class<? extends Annotation> annotationType : annotationTypes) {
+            MergedAnnotation<?> annotation = annotations.get(annotationType);
+            if (annotation.isPresent()) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 单次遍历{@code clazz}声明的字段, 查找被注解的字段
+     *
+     * @param clazz    当前遍历到的class
+     * @param indexed  编译期索引的被注解成员, null则检查所有字段
+     * @param elements 被注解字段元数据
+     */
+    private void findAnnotatedFieldMetadata(Class<?> clazz, @Nullable IndexedMembers indexed, List<AnnotatedFieldElement> elements) {
+        ReflectionUtils.doWithLocalFields(clazz, field -> {
+            if (Objects.nonNull(indexed) && !indexed.containsField(field.getName())) {
+                return;
+            }
+            MergedAnnotation<?> annotation = findMergedAnnotation(MergedAnnotations.from(field));
+            if (Objects.isNull(annotation)) {
+                return;
+            }
+            if (Modifier.isStatic(field.getModifiers())) {
+                if (log.isWarnEnabled()) {
+                    log.warn("@" + annotation.getType().getName() + " is not supported on static fields: " + field);
+                }
+                return;
+            }
+            elements.add(new AnnotatedFieldElement(field, annotation.asAnnotationAttributes(Adapt.ANNOTATION_TO_MAP)));
+        });
+    }
+
+    /**
+     * 单次遍历{@code clazz}声明的方法, 查找被注解的方法
+     *
+     * @param beanClass The {@link Class} of Bean
+     * @param clazz     当前遍历到的class
+     * @param indexed   编译期索引的被注解成员, null则检查所有方法
+     * @param elements  被注解方法元数据
+     */
+    private void findAnnotatedMethodMetadata(Class<?> beanClass, Class<?> clazz, @Nullable IndexedMembers indexed,
+                                             List<AnnotatedMethodElement> elements) {
+        ReflectionUtils.doWithLocalMethods(clazz, method -> {
+            if (Objects.nonNull(indexed) && !indexed.containsMethod(method.getName())) {
+                return;
+            }
+            Method bridgedMethod = findBridgedMethod(method);
+            if (!isVisibilityBridgeMethodPair(method, bridgedMethod)) {
+                return;
+            }
+            MergedAnnotation<?> annotation = findMergedAnnotation(MergedAnnotations.from(bridgedMethod));
+            if (Objects.isNull(annotation) || !method.equals(ClassUtils.getMostSpecificMethod(method, beanClass))) {
+                return;
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                if (log.isWarnEnabled()) {
+                    log.warn("@" + annotation.getType().getName() + " annotation is not supported on static methods: " + method);
+                }
+                return;
+            }
+            if (method.getParameterCount() == 0) {
+                if (log.isWarnEnabled()) {
+                    log.warn("@" + annotation.getType().getName() + " annotation should only be used on methods with parameters: " +
+                            method);
+                }
+            }
+            PropertyDescriptor pd = BeanUtils.findPropertyForMethod(bridgedMethod, beanClass);
+            elements.add(new AnnotatedMethodElement(method, pd, annotation.asAnnotationAttributes(Adapt.ANNOTATION_TO_MAP)));
+        });
+    }
+
+    /**
+     * 构建被注解元数据, 包含被注解字段和方法的元数据
+     * 沿继承链每个class仅遍历一次其声明的字段和方法, 每个成员仅解析一次注解, 且一个成员仅取第一个匹配的注解
+     * 如果class被编译期索引({@link InjectionPointIndex})覆盖, 则仅检查索引中列出的成员
+     *
+     * @return 被注解元数据, 如果不存在任何注入点, 则返回{@link #EMPTY_METADATA}
+     */
+    private AnnotatedInjectionMetadata buildAnnotatedMetadata(final Class<?> beanClass) {
+        if (!AnnotationUtils.isCandidateClass(beanClass, annotationTypeList)) {
+            //java.*或者不可能带注解的class
+            return EMPTY_METADATA;
+        }
+
+        //默认构造的ArrayList在首次add前不分配数组
+        List<AnnotatedFieldElement> fieldElements = new ArrayList<>();
+        List<AnnotatedMethodElement> methodElements = new ArrayList<>();
+        InjectionPointIndex index = InjectionPointIndex.load(beanClass.getClassLoader());
+        Class<?> targetClass = beanClass;
+        do {
+            IndexedMembers indexed = index.getMembers(targetClass, annotationTypeList);
+            if (Objects.isNull(indexed) || !indexed.isEmpty()) {
+                findAnnotatedFieldMetadata(targetClass, indexed, fieldElements);
+                findAnnotatedMethodMetadata(beanClass, targetClass, indexed, methodElements);
+            }
+            targetClass = targetClass.getSuperclass();
+        } while (Objects.nonNull(targetClass) && targetClass != Object.class);
+
+        if (fieldElements.isEmpty() && methodElements.isEmpty()) {
+            return EMPTY_METADATA;
+        }
+        return new AnnotatedInjectionMetadata(beanClass, fieldElements, methodElements);
+    }
+
+    /**
+     * 构建被注解元数据, 开启metrics则记录构建耗时, 开启startup tracking则记录startup step
+     */
+    private AnnotatedInjectionMetadata buildAndRecordAnnotatedMetadata(Class<?> beanClass) {
+        if (!metricsEnabled && !startupTracking) {
+            return buildAnnotatedMetadata(beanClass);
+        }
+        StartupStep step = startupTracking ? applicationStartup.start(METADATA_STARTUP_STEP).tag("beanClass", beanClass.getName()) : null;
+        long startNanos = System.nanoTime();
+        AnnotatedInjectionMetadata metadata = buildAnnotatedMetadata(beanClass);
+        int injectionPoints = metadata.getElements().size();
+        if (metricsEnabled) {
+            metrics.onMetadataBuilt(beanClass, System.nanoTime() - startNanos, injectionPoints);
+        }
+        if (Objects.nonNull(step)) {
+            step.tag("injectionPoints", String.valueOf(injectionPoints));
+            step.end();
+        }
+        return metadata;
+    }
+
+    /**
+     * 构建被注解Field或者Method的注入元数据
+     *
+     * @return 注入元数据, 如果不存在任何注入点, 则返回null
+     */
+    @Nullable
+    private AnnotatedInjectionMetadata findInjectionMetadata(Class<?> clazz) {
+        // Quick check on the concurrent map first, without locking.
+        AnnotatedInjectionMetadata metadata = this.injectionMetadataCache.get(clazz);
+        if (Objects.isNull(metadata)) {
+            metadata = this.nonCacheSafeInjectionMetadataCache.get(clazz);
+        }
+        if (Objects.isNull(metadata)) {
+            if (metricsEnabled) {
+                metrics.onMetadataCacheMiss(clazz);
+            }
+            try {
+                //仅锁住同一class(同一hash桶)的构建, 不同class并发构建
+                metadata = getInjectionMetadataCache(clazz).computeIfAbsent(clazz, this::buildAndRecordAnnotatedMetadata);
+            } catch (NoClassDefFoundError err) {
+                throw new IllegalStateException("Failed to introspect object class [" + clazz.getName() +
+                        "] for annotation metadata: could not find class that it depends on", err);
+            }
+        } else if (metricsEnabled) {
+            metrics.onMetadataCacheHit(clazz);
+        }
+        //不存在注入点的class也会缓存, O(1)返回
+        return metadata != EMPTY_METADATA ? metadata : null;
+    }
+
+    /**
+     * @return {@code clazz}注解元数据所在缓存, 非cache safe的class单独缓存, 需由{@link #release(ClassLoader)}释放
+     */
+    private ConcurrentMap<Class<?>, AnnotatedInjectionMetadata> getInjectionMetadataCache(Class<?> clazz) {
+        return ClassUtils.isCacheSafe(clazz, beanClassLoader) ? injectionMetadataCache : nonCacheSafeInjectionMetadataCache;
+    }
+
+    /**
+     * 处理首个bean前触发{@link InjectionMetadataPreWarmer}预热, 仅触发一次
+     * 此时本processor的aware回调以及初始化方法均已执行, 子类重写的批量获取等方法可安全访问自身状态;
+     * 预热过程中获取的bean再次进入本方法时直接返回, 其他线程也不会等待预热完成
+     */
+    private void prewarmOnce() {
+        if (!prewarmTriggered.get() && Objects.nonNull(beanFactory) && prewarmTriggered.compareAndSet(false, true)) {
+            InjectionMetadataPreWarmer.prewarm(beanFactory, this);
+        }
+    }
+
+    /**
+     * 预构建{@code clazz}的注入元数据, 由{@link InjectionMetadataPreWarmer}在本processor处理首个bean前并发调用
+     *
+     * @param beanName 该class的其中一个bean name, 用于过滤
+     * @return 构建耗时(纳秒), 已缓存或者被过滤则返回0
+     */
+    long prewarmInjectionMetadata(Class<?> clazz, String beanName) {
+        if (isSkipped(clazz, beanName) ||
+                this.injectionMetadataCache.containsKey(clazz) || this.nonCacheSafeInjectionMetadataCache.containsKey(clazz)) {
+            return 0;
+        }
+        long startNanos = System.nanoTime();
+        findInjectionMetadata(clazz);
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 本processor处理首个bean前, 收集{@code beanClasses}所有单个被注入对象的注入点, 按缓存key去重后分批调用{@link #doBatchGetInjectedBeans}获取,
+     * 并填充被注入对象缓存, 使得bean注入时仅需命中缓存. 由{@link InjectionMetadataPreWarmer}调用
+     * <p>
+     * 仅当子类支持批量获取, 且缓存key仅与注入点相关时生效. 集合或者map注入点本身已批量获取, 延迟注入的注入点首次使用时才获取, 故均不参与
+     * 开启{@link #shareWithParent}时, 可向父context processor借用的被注入对象不参与批量获取, 批量获取的被注入对象登记至父context processor共享
+     * 批量获取失败或者未返回的被注入对象, 在bean注入时回退为逐个调用{@link #doGetInjectedBean}
+     *
+     * @param beanClasses key -> bean name, value -> bean class
+     */
+    void prefetchInjectedObjects(Map<String, Class<?>> beanClasses) {
+        if (injectedObjectBatchSize <= 0 || !isBatchInjectionSupported() || !isElementScopedCacheKey()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        int injectionPoints = 0;
+        //key -> 被注入对象缓存key, 同一被注入对象仅请求一次
+        Map<InjectedObjectCacheKey, InjectedObjectRequest> requests = new LinkedHashMap<>();
+        for (Map.Entry<String, Class<?>> entry : beanClasses.entrySet()) {
+            String beanName = entry.getKey();
+            Class<?> beanClass = entry.getValue();
+            if (isSkipped(beanClass, beanName)) {
+                continue;
+            }
+            AnnotatedInjectionMetadata metadata;
+            try {
+                metadata = findInjectionMetadata(beanClass);
+            } catch (Throwable e) {
+                //交给bean实例化时抛出
+                continue;
+            }
+            if (Objects.isNull(metadata)) {
+                continue;
+            }
+            for (AbstractAnnotatedElement element : metadata.getElements()) {
+                Class<?> injectedType = element.resolveSingleInjectedType(beanClass);
+                if (Objects.isNull(injectedType) || isLazyInjection(element.attributes, injectedType)) {
+                    continue;
+                }
+                injectionPoints++;
+                //缓存key仅与注入点相关, 故无需bean实例
+                InjectedObjectCacheKey cacheKey = getInjectedObjectCacheKey(element.attributes, null, beanName, injectedType, element, false);
+                //与逐个获取一致, 开启共享时优先向父context processor借用
+                if (!injectedObjectsCache.containsKey(cacheKey) && !requests.containsKey(cacheKey) &&
+                        Objects.isNull(borrowInjectedObject(cacheKey))) {
+                    requests.put(cacheKey, new InjectedObjectRequest(element.attributes, beanName, injectedType, element, cacheKey));
+                }
+            }
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        List<InjectedObjectRequest> pendingRequests = new ArrayList<>(requests.values());
+        int batches = 0;
+        int prefetched = 0;
+        //批量获取并成功填充缓存, 即注入时无需再调用doGetInjectedBean的被注入对象数量
+        int avoidedSingleCalls = 0;
+        long batchNanos = 0;
+        for (int from = 0; from < pendingRequests.size(); from += injectedObjectBatchSize) {
+            List<InjectedObjectRequest> batch = pendingRequests.subList(from, Math.min(from + injectedObjectBatchSize, pendingRequests.size()));
+            long batchStartNanos = System.nanoTime();
+            Map<InjectedObjectCacheKey, Object> injectedObjects = null;
+            try {
+                injectedObjects = doBatchGetInjectedBeans(batch);
+            } catch (Throwable e) {
+                if (log.isWarnEnabled()) {
+                    log.warn("batch get " + batch.size() + " injected objects fail, fall back to get one by one on injection", e);
+                }
+            }
+            long costNanos = System.nanoTime() - batchStartNanos;
+            batches++;
+            batchNanos += costNanos;
+            injectedObjectBatches.increment();
+
+            int resolved = 0;
+            if (Objects.nonNull(injectedObjects)) {
+                for (InjectedObjectRequest request : batch) {
+                    Object injectedObject = injectedObjects.get(request.getCacheKey());
+                    if (Objects.nonNull(injectedObject)) {
+                        resolved++;
+                        //可能已被其他线程缓存或者其他子context登记共享, 则批量获取的被注入对象会被销毁
+                        if (cacheCreatedInjectedObject(request.getCacheKey(), injectedObject) == injectedObject) {
+                            avoidedSingleCalls++;
+                        }
+                    }
+                }
+            }
+            prefetched += resolved;
+            batchedInjectedObjects.add(resolved);
+            if (metricsEnabled) {
+                metrics.onInjectedObjectBatchResolved(batch.size(), resolved, costNanos, Objects.nonNull(injectedObjects));
+            }
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info(String.format("prefetched %d/%d injected objects for %d injection points of %d beans in %d batches(batch size %d), " +
+                            "batch call %dms, total %dms, %d single calls avoided",
+                    prefetched, pendingRequests.size(), injectionPoints, beanClasses.size(), batches, injectedObjectBatchSize,
+                    TimeUnit.NANOSECONDS.toMillis(batchNanos), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                    avoidedSingleCalls));
+        }
+    }
+
+    @Override
+    public void postProcessMergedBeanDefinition(@Nonnull RootBeanDefinition beanDefinition, @Nonnull Class<?> beanType, @Nonnull String beanName) {
+        prewarmOnce();
+        if (isSkipped(beanType, beanName)) {
+            return;
+        }
+        AnnotatedInjectionMetadata metadata = findInjectionMetadata(beanType);
+        if (Objects.isNull(metadata)) {
+            return;
+        }
+        //同InjectionMetadata#checkConfigMembers, 但不修改按class共享的注入元数据, 以免不同bean definition相互覆盖
+        List<AbstractAnnotatedElement> elements = metadata.getElements();
+        List<AbstractAnnotatedElement> checked = new ArrayList<>(elements.size());
+        for (AbstractAnnotatedElement element : elements) {
+            Member member = element.getMember();
+            if (!beanDefinition.isExternallyManagedConfigMember(member)) {
+                beanDefinition.registerExternallyManagedConfigMember(member);
+                checked.add(element);
+            }
+        }
+        if (checked.size() < elements.size()) {
+            checkedElements.put(beanName, Collections.unmodifiableList(checked));
+        } else {
+            checkedElements.remove(beanName);
+        }
+    }
+
+    @Override
+    public void resetBeanDefinition(@Nonnull String beanName) {
+        checkedElements.remove(beanName);
+    }
+
+    /**
+     * 并发销毁所有被注入对象, 单个对象销毁异常或者超时不影响其余对象销毁
+     */
+    @Override
+    public void destroy() throws Exception {
+        //仍被子context共享的被注入对象延迟至最后一个子context归还时销毁, 借用自父context的被注入对象归还而不销毁
+        List<Object> injectedObjects = new ArrayList<>(injectedObjectsCache.size());
+        Lock writeLock = lifecycleLock.writeLock();
+        writeLock.lock();
+        try {
+            destroyed = true;
+            for (Map.Entry<InjectedObjectCacheKey, Object> entry : injectedObjectsCache.entrySet()) {
+                Object injectedObject = entry.getValue();
+                if (!detachInjectedObject(entry.getKey(), injectedObject)) {
+                    continue;
+                }
+                if (injectedObject instanceof InjectedObjectBatch) {
+                    injectedObjects.addAll(((InjectedObjectBatch) injectedObject).getObjects().values());
+                } else {
+                    injectedObjects.add(injectedObject);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        synchronized (retainedInjectedObjects) {
+            for (Object retained : retainedInjectedObjects) {
+                if (retained instanceof InjectedObjectBatch) {
+                    injectedObjects.addAll(((InjectedObjectBatch) retained).getObjects().values());
+                } else {
+                    injectedObjects.add(retained);
+                }
+            }
+            retainedInjectedObjects.clear();
+        }
+
+        List<BoundedParallelRunner.Task> tasks = new ArrayList<>();
+        for (Object object : injectedObjects) {
+            if (!(object instanceof DisposableBean)) {
+                continue;
+            }
+            tasks.add(new BoundedParallelRunner.Task(ObjectUtils.identityToString(object), () -> {
+                if (log.isDebugEnabled()) {
+                    log.debug(object + " was destroying!");
+                }
+                ((DisposableBean) object).destroy();
+                return null;
+            }));
+        }
+
+        if (!tasks.isEmpty()) {
+            BoundedParallelRunner.Report report = BoundedParallelRunner.run(getClass().getSimpleName() + "-destroy", tasks,
+                    destroyParallelism, destroyTimeout, destroyDeadline);
+            if (report.isAllSuccess()) {
+                if (log.isInfoEnabled()) {
+                    log.info("destroy injected objects: " + report.summary(SLOW_DESTROY_THRESHOLD));
+                }
+            } else {
+                if (log.isWarnEnabled()) {
+                    log.warn("destroy injected objects: " + report.summary(SLOW_DESTROY_THRESHOLD));
+                }
+            }
+        }
+
+        injectionMetadataCache.clear();
+        nonCacheSafeInjectionMetadataCache.clear();
+        checkedElements.clear();
+        injectedObjectsCache.clear();
+        lazyProxiesCache.clear();
+        synchronized (nonSingletonInjectedObjectKeys) {
+            nonSingletonInjectedObjectKeys.clear();
+            singletonInjectedObjectKeys.clear();
+        }
+        requesterClassLoaders.clear();
+        skippedBeanNames.clear();
+        metrics.close();
+
+        if (log.isDebugEnabled()) {
+            log.debug(getClass() + " was destroying!");
+        }
+    }
+
+    /**
+     * 本processor所属context refresh完成时, 若开启{@link #warmUp}, 则预热被注入对象
+     */
+    private void onContextRefreshed(ContextRefreshedEvent event) {
+        if (!warmUp || event.getApplicationContext() != applicationContext) {
+            //子context的事件会传播至父context
+            return;
+        }
+        warmUpInjectedObjects();
+    }
+
+    /**
+     * 在独立线程中并发预热所有被注入对象, 单个对象预热异常或者超时不影响其余对象预热, 结束后在该线程中发布{@link InjectedObjectsWarmedUpEvent}
+     */
+    private void warmUpInjectedObjects() {
+        List<BoundedParallelRunner.Task> tasks = new ArrayList<>();
+        for (Map.Entry<InjectedObjectCacheKey, Object> entry : injectedObjectsCache.entrySet()) {
+            InjectedObjectCacheKey cacheKey = entry.getKey();
+            Object object = entry.getValue();
+            if (object instanceof InjectedObjectBatch) {
+                for (Map.Entry<String, Object> batchEntry : ((InjectedObjectBatch) object).getObjects().entrySet()) {
+                    Object batchObject = batchEntry.getValue();
+                    if (isWarmUpRequired(cacheKey, batchObject)) {
+                        tasks.add(new BoundedParallelRunner.Task(cacheKey.getKey() + "#" + batchEntry.getKey(), () -> {
+                            warmUpInjectedObject(cacheKey, batchObject);
+                            return null;
+                        }));
+                    }
+                }
+            } else if (isWarmUpRequired(cacheKey, object)) {
+                tasks.add(new BoundedParallelRunner.Task(cacheKey.getKey(), () -> {
+                    warmUpInjectedObject(cacheKey, object);
+                    return null;
+                }));
+            }
+        }
+
+        //在预热线程中执行, 不阻塞context refresh
+        boolean logRequired = !tasks.isEmpty();
+        BoundedParallelRunner.runAsync(getClass().getSimpleName() + "-warm-up", tasks, warmUpParallelism, warmUpTimeout, warmUpDeadline)
+                .whenComplete((report, throwable) -> {
+                    if (Objects.nonNull(throwable)) {
+                        if (log.isWarnEnabled()) {
+                            log.warn("warm up injected objects fail", throwable);
+                        }
+                        return;
+                    }
+                    if (logRequired) {
+                        //列出每个被注入对象的预热耗时
+                        if (report.isAllSuccess()) {
+                            if (log.isInfoEnabled()) {
+                                log.info("warm up injected objects: " + report.summary(0));
+                            }
+                        } else {
+                            if (log.isWarnEnabled()) {
+                                log.warn("warm up injected objects: " + report.summary(0));
+                            }
+                        }
+                    }
+                    if (destroyed || (applicationContext instanceof ConfigurableApplicationContext &&
+                            !((ConfigurableApplicationContext) applicationContext).isActive())) {
+                        //预热期间context已关闭
+                        return;
+                    }
+                    applicationContext.publishEvent(new InjectedObjectsWarmedUpEvent(applicationContext, this, report));
+                });
+    }
+
+    /**
+     * 子类可重写, 以预热未实现{@link WarmUpable}的被注入对象
+     *
+     * @param cacheKey       被注入对象缓存key
+     * @param injectedObject 被注入对象, 批量获取的被注入对象会逐个预热
+     * @return 是否需预热, 默认被注入对象实现{@link WarmUpable}才需预热
+     */
+    protected boolean isWarmUpRequired(InjectedObjectCacheKey cacheKey, Object injectedObject) {
+        return injectedObject instanceof WarmUpable;
+    }
+
+    /**
+     * 预热被注入对象, 在预热线程中并发调用, 可能因超时被中断
+     * 默认调用{@link WarmUpable#warmUp()}, 子类可重写, 比如预先调用远程服务的健康检查接口
+     *
+     * @param cacheKey       被注入对象缓存key
+     * @param injectedObject 被注入对象
+     * @throws Exception 预热失败, 仅记录日志
+     */
+    protected void warmUpInjectedObject(InjectedObjectCacheKey cacheKey, Object injectedObject) throws Exception {
+        if (injectedObject instanceof WarmUpable) {
+            ((WarmUpable) injectedObject).warmUp();
+        }
+    }
+
+    /**
+     * 其他context(比如子context)关闭时, 如果其class loader不同于本processor的{@link #beanClassLoader}, 则释放由其class loader加载的class相关缓存
+     * 本context关闭时, 由{@link #destroy()}释放所有缓存
+     */
+    private void onContextClosed(ContextClosedEvent event) {
+        ClassLoader classLoader = event.getApplicationContext().getClassLoader();
+        if (Objects.isNull(classLoader) || isSameOrDescendant(beanClassLoader, classLoader)) {
+            //同一class loader或者其父class loader, 释放会误删本context仍在使用的缓存
+            return;
+        }
+        release(classLoader);
+    }
+
+    /**
+     * 释放由{@code classLoader}及其子class loader加载的class相关缓存, 包括注解元数据, 被注入对象以及延迟获取被注入对象的代理
+     * 被注入对象类型, 被注入对象class或者请求该被注入对象的bean class由其加载均会释放
+     * 被释放的被注入对象会被销毁. 用于卸载动态class loader, 比如多租户场景下卸载租户应用, 以免缓存阻止class loader回收
+     *
+     * @param classLoader 需释放的class loader
+     */
+    public void release(ClassLoader classLoader) {
+        Assert.notNull(classLoader, "classLoader must not be null");
+        int releasedMetadata = 0;
+        for (Map<Class<?>, AnnotatedInjectionMetadata> cache : Arrays.asList(injectionMetadataCache, nonCacheSafeInjectionMetadataCache)) {
+            Iterator<Class<?>> iterator = cache.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (isSameOrDescendant(iterator.next().getClassLoader(), classLoader)) {
+                    iterator.remove();
+                    releasedMetadata++;
+                }
+            }
+        }
+        metadataEvictions.add(releasedMetadata);
+        //保留的注入元数据(比如父class loader加载的泛型基类)可能缓存了被释放的子类的注入类型解析结果
+        for (Map<Class<?>, AnnotatedInjectionMetadata> cache : Arrays.asList(injectionMetadataCache, nonCacheSafeInjectionMetadataCache)) {
+            for (AnnotatedInjectionMetadata metadata : cache.values()) {
+                metadata.getFieldElements().forEach(element -> element.releaseResolvedTypes(classLoader));
+            }
+        }
+        checkedElements.values().removeIf(elements -> elements.stream()
+                .anyMatch(element -> isSameOrDescendant(element.getMember().getDeclaringClass().getClassLoader(), classLoader)));
+
+        int releasedInjectedObjects = 0;
+        Iterator<Map.Entry<InjectedObjectCacheKey, Object>> iterator = injectedObjectsCache.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<InjectedObjectCacheKey, Object> entry = iterator.next();
+            InjectedObjectCacheKey cacheKey = entry.getKey();
+            if (isReleasable(cacheKey, classLoader) || isLoadedBy(entry.getValue(), classLoader)) {
+                iterator.remove();
+                synchronized (nonSingletonInjectedObjectKeys) {
+                    nonSingletonInjectedObjectKeys.remove(cacheKey);
+                    singletonInjectedObjectKeys.remove(cacheKey);
+                }
+                if (detachInjectedObject(cacheKey, entry.getValue())) {
+                    destroyQuietly(entry.getValue());
+                }
+                releasedInjectedObjects++;
+            }
+        }
+        List<Object> releasedRetainedObjects = new ArrayList<>();
+        synchronized (retainedInjectedObjects) {
+            Iterator<Object> retainedIterator = retainedInjectedObjects.iterator();
+            while (retainedIterator.hasNext()) {
+                Object retained = retainedIterator.next();
+                if (isLoadedBy(retained, classLoader)) {
+                    retainedIterator.remove();
+                    releasedRetainedObjects.add(retained);
+                }
+            }
+        }
+        releasedRetainedObjects.forEach(this::destroyQuietly);
+        lazyProxiesCache.keySet().removeIf(key -> isReleasable(key, classLoader));
+        requesterClassLoaders.values().removeIf(requesterClassLoader -> isSameOrDescendant(requesterClassLoader, classLoader));
+        injectedObjectEvictions.add(releasedInjectedObjects);
+
+        if (log.isInfoEnabled()) {
+            log.info("release caches of class loader {}, metadata: {}, injected objects: {}",
+                    classLoader, releasedMetadata, releasedInjectedObjects);
+        }
+    }
+
+    /**
+     * @return 被注入对象类型或者请求该被注入对象的bean class是否由{@code classLoader}及其子class loader加载
+     */
+    private boolean isReleasable(InjectedObjectCacheKey cacheKey, ClassLoader classLoader) {
+        if (isSameOrDescendant(cacheKey.getInjectedType().getClassLoader(), classLoader)) {
+            return true;
+        }
+        ClassLoader requesterClassLoader = requesterClassLoaders.get(cacheKey);
+        return Objects.nonNull(requesterClassLoader) && isSameOrDescendant(requesterClassLoader, classLoader);
+    }
+
+    /**
+     * @return 被注入对象class是否由{@code classLoader}及其子class loader加载, 批量获取的被注入对象则任一满足即返回true
+     */
+    private static boolean isLoadedBy(Object injectedObject, ClassLoader classLoader) {
+        if (injectedObject instanceof InjectedObjectBatch) {
+            for (Object object : ((InjectedObjectBatch) injectedObject).getObjects().values()) {
+                if (isLoadedBy(object, classLoader)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return isSameOrDescendant(injectedObject.getClass().getClassLoader(), classLoader);
+    }
+
+    /**
+     * @return {@code classLoader}是否是{@code ancestor}或者其子class loader
+     */
+    private static boolean isSameOrDescendant(@Nullable ClassLoader classLoader, ClassLoader ancestor) {
+        ClassLoader current = classLoader;
+        while (Objects.nonNull(current)) {
+            if (current == ancestor) {
+                return true;
+            }
+            current = current.getParent();
+        }
+        return false;
+    }
+
+    /**
+     * Gets all injected-objects.
+     * 批量获取的被注入对象会展开
+     *
+     * @return non-null {@link Collection}
+     */
+    protected Collection<Object> getInjectedObjects() {
+        List<Object> injectedObjects = new ArrayList<>(injectedObjectsCache.size());
+        for (Object object : injectedObjectsCache.values()) {
+            if (object instanceof InjectedObjectBatch) {
+                injectedObjects.addAll(((InjectedObjectBatch) object).getObjects().values());
+            } else {
+                injectedObjects.add(object);
+            }
+        }
+        return injectedObjects;
+    }
+
+    /**
+     * Get injected-object from specified {@link AnnotationAttributes annotation attributes} and Bean Class
+     * 同一缓存key的被注入对象仅会创建一次, 并发获取时, 仅一个线程调用{@link #doGetInjectedBean}, 其余线程等待其结果
+     *
+     * @param attributes      {@link AnnotationAttributes the annotation attributes}
+     * @param bean            Current bean that will be injected
+     * @param beanName        Current bean name that will be injected
+     * @param injectedType    the type of injected-object
+     * @param injectedElement {@link InjectionMetadata.InjectedElement}
+     * @return An injected object
+     * @throws Exception If getting is failed
+     */
+    protected Object getInjectedObject(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                       InjectionMetadata.InjectedElement injectedElement) throws Exception {
+        InjectedObjectCacheKey cacheKey = getInjectedObjectCacheKey(attributes, bean, beanName, injectedType, injectedElement, false);
+        trackInjectedObjectUsage(cacheKey, bean, beanName);
+
+        Object injectedObject = injectedObjectsCache.get(cacheKey);
+        if (metricsEnabled) {
+            recordInjectedObjectCacheAccess(injectedType, injectedObject);
+        }
+        if (Objects.nonNull(injectedObject)) {
+            return injectedObject;
+        }
+
+        return createInjectedObject(cacheKey, beanName,
+                () -> doGetInjectedBean(attributes, bean, beanName, injectedType, injectedElement));
+    }
+
+    /**
+     * 批量获取所有匹配的被注入对象, 并转换成{@code containerType}实例, 用于注入集合或者{@code Map<String, ?>}
+     * 同一缓存key仅调用一次{@link #doGetInjectedBeans}获取全部被注入对象, 而不是每个被注入对象调用一次{@link #doGetInjectedBean}
+     *
+     * @param elementType   集合元素类型或者map value类型
+     * @param containerType 集合或者map类型
+     * @return {@code containerType}实例, 每次调用都会创建新实例, 但其中的被注入对象是共享的
+     * @throws Exception If getting is failed
+     */
+    protected Object getMultipleInjectedObjects(AnnotationAttributes attributes, Object bean, String beanName, Class<?> elementType,
+                                                Class<?> containerType, InjectionMetadata.InjectedElement injectedElement) throws Exception {
+        InjectedObjectCacheKey cacheKey = getInjectedObjectCacheKey(attributes, bean, beanName, elementType, injectedElement, true);
+        trackInjectedObjectUsage(cacheKey, bean, beanName);
+
+        Object batch = injectedObjectsCache.get(cacheKey);
+        if (metricsEnabled) {
+            recordInjectedObjectCacheAccess(elementType, batch);
+        }
+        if (Objects.isNull(batch)) {
+            batch = createInjectedObject(cacheKey, beanName,
+                    () -> new InjectedObjectBatch(doGetInjectedBeans(attributes, bean, beanName, elementType, injectedElement)));
+        }
+        return ((InjectedObjectBatch) batch).toContainer(containerType, elementType);
+    }
+
+    /**
+     * 创建并缓存被注入对象
+     * 同一缓存key的被注入对象仅会创建一次, 并发获取时, 仅一个线程调用{@code creator}, 其余线程等待其结果
+     * 开启{@link #shareWithParent}时, 优先向父context processor借用, 否则创建后登记至父context processor共享
+     *
+     * @param cacheKey 被注入对象缓存key
+     * @param beanName Current bean name that will be injected
+     * @param creator  被注入对象创建逻辑
+     * @return 缓存中的被注入对象
+     */
+    private Object createInjectedObject(InjectedObjectCacheKey cacheKey, String beanName, Callable<Object> creator) throws Exception {
+        InjectedObjectCreation creation = new InjectedObjectCreation(Thread.currentThread());
+        InjectedObjectCreation inflight = creatingInjectedObjects.putIfAbsent(cacheKey, creation);
+        if (Objects.nonNull(inflight)) {
+            //其他线程正在创建, 等待其结果
+            if (inflight.creator == Thread.currentThread()) {
+                throw new BeanCurrentlyInCreationException(beanName, "Injected object " + cacheKey + " is currently in creation, " +
+                        "is there an unresolvable circular reference?");
+            }
+            singleFlightWaits.increment();
+            try {
+                return inflight.get(singleFlightWaitTimeout, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof Exception ? (Exception) cause : new IllegalStateException(cause);
+            } catch (TimeoutException e) {
+                //创建线程可能正等待本线程持有的锁(比如spring singleton锁), 放弃等待以免死锁, 但不重复创建被注入对象
+                singleFlightWaitTimeouts.increment();
+                throw new BeanCreationException(beanName, "Wait injected object " + cacheKey + " created by other thread timeout after " +
+                        singleFlightWaitTimeout + "ms, is the creating thread waiting for a lock held by current thread?", e);
+            }
+        }
+
+        try {
+            //double check, 其他线程可能在本线程cache miss后刚完成创建
+            Object injectedObject = injectedObjectsCache.get(cacheKey);
+            if (Objects.isNull(injectedObject)) {
+                injectedObject = borrowInjectedObject(cacheKey);
+                if (Objects.isNull(injectedObject)) {
+                    injectedObject = cacheCreatedInjectedObject(cacheKey, callWithMetrics(cacheKey.getInjectedType(), creator));
+                }
+                if (maxNonSingletonInjectedObjects > 0 && isNonSingleton(beanName)) {
+                    evictNonSingletonInjectedObjects(cacheKey);
+                }
+            }
+            creation.complete(injectedObject);
+            return injectedObject;
+        } catch (Throwable e) {
+            creation.completeExceptionally(e);
+            throw e;
+        } finally {
+            creatingInjectedObjects.remove(cacheKey, creation);
+        }
+    }
+
+    /**
+     * 异步获取被注入对象, 参数同{@link #getInjectedObject}
+     * 同一缓存key的被注入对象仅会创建一次, 并发获取时, 共享同一future
+     *
+     * @return 被注入对象future
+     */
+    protected CompletableFuture<Object> getInjectedObjectAsync(AnnotationAttributes attributes, Object bean, String beanName,
+                                                               Class<?> injectedType, InjectionMetadata.InjectedElement injectedElement) {
+        InjectedObjectCacheKey cacheKey = getInjectedObjectCacheKey(attributes, bean, beanName, injectedType, injectedElement, false);
+        trackInjectedObjectUsage(cacheKey, bean, beanName);
+
+        Object injectedObject = injectedObjectsCache.get(cacheKey);
+        if (metricsEnabled) {
+            recordInjectedObjectCacheAccess(injectedType, injectedObject);
+        }
+        if (Objects.nonNull(injectedObject)) {
+            return CompletableFuture.completedFuture(injectedObject);
+        }
+
+        //异步创建不会阻塞创建线程, 故不记录创建线程
+        InjectedObjectCreation creation = new InjectedObjectCreation(null);
+        InjectedObjectCreation inflight = creatingInjectedObjects.putIfAbsent(cacheKey, creation);
+        if (Objects.nonNull(inflight)) {
+            singleFlightWaits.increment();
+            return inflight;
+        }
+
+        //double check, 并与同步获取一致, 优先向父context processor借用
+        injectedObject = injectedObjectsCache.get(cacheKey);
+        if (Objects.isNull(injectedObject)) {
+            injectedObject = borrowInjectedObject(cacheKey);
+        }
+        if (Objects.nonNull(injectedObject)) {
+            creatingInjectedObjects.remove(cacheKey, creation);
+            creation.complete(injectedObject);
+            return creation;
+        }
+
+        long startNanos = metricsEnabled ? System.nanoTime() : 0;
+        CompletableFuture<Object> future;
+        try {
+            future = doGetInjectedBeanAsync(attributes, bean, beanName, injectedType, injectedElement);
+        } catch (Throwable e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        future.whenComplete((object, throwable) -> {
+            //先缓存再移除, 以免新的调用方既未命中缓存也未找到正在创建的future而重复创建
+            try {
+                if (metricsEnabled) {
+                    metrics.onInjectedObjectResolved(injectedType, System.nanoTime() - startNanos, Objects.isNull(throwable));
+                }
+                if (Objects.nonNull(throwable)) {
+                    creation.completeExceptionally(throwable);
+                } else if (Objects.isNull(object)) {
+                    creation.completeExceptionally(new IllegalStateException("injected object " + cacheKey + " resolved asynchronously is null"));
+                } else {
+                    creation.complete(cacheCreatedInjectedObject(cacheKey, object));
+                }
+            } catch (Throwable e) {
+                creation.completeExceptionally(e);
+            } finally {
+                creatingInjectedObjects.remove(cacheKey, creation);
+            }
+        });
+        return creation;
+    }
+
+    /**
+     * 记录被注入对象缓存命中或未命中
+     */
+    private void recordInjectedObjectCacheAccess(Class<?> injectedType, @Nullable Object injectedObject) {
+        if (Objects.nonNull(injectedObject)) {
+            metrics.onInjectedObjectCacheHit(injectedType);
+        } else {
+            metrics.onInjectedObjectCacheMiss(injectedType);
+        }
+    }
+
+    /**
+     * 调用{@code creator}获取被注入对象, 开启metrics则记录耗时
+     */
+    private Object callWithMetrics(Class<?> injectedType, Callable<Object> creator) throws Exception {
+        if (!metricsEnabled) {
+            return creator.call();
+        }
+        long startNanos = System.nanoTime();
+        boolean success = false;
+        try {
+            Object injectedObject = creator.call();
+            success = true;
+            return injectedObject;
+        } finally {
+            metrics.onInjectedObjectResolved(injectedType, System.nanoTime() - startNanos, success);
+        }
+    }
+
+    /**
+     * 是否延迟获取被注入对象
+     * 仅支持接口类型, 由processor级配置或者注解属性{@value #LAZY_ATTRIBUTE}开启
+     */
+    private boolean isLazyInjection(AnnotationAttributes attributes, Class<?> injectedType) {
+        if (!injectedType.isInterface()) {
+            return false;
+        }
+        if (lazyInjection) {
+            return true;
+        }
+        Object lazy = attributes.get(LAZY_ATTRIBUTE);
+        return lazy instanceof Boolean && (Boolean) lazy;
+    }
+
+    /**
+     * 获取延迟获取被注入对象的代理, 参数同{@link #getInjectedObject}
+     * 如果被注入对象已创建, 则直接返回被注入对象
+     * 代理会引用创建其的bean, 用于获取被注入对象, 故仅缓存singleton bean的代理, 非singleton bean每次注入都创建新代理, 以免代理缓存持有首个bean实例
+     *
+     * @return 代理或者被注入对象
+     */
+    private Object getLazyInjectedObject(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                         InjectionMetadata.InjectedElement injectedElement) {
+        InjectedObjectCacheKey cacheKey = getInjectedObjectCacheKey(attributes, bean, beanName, injectedType, injectedElement, false);
+        trackInjectedObjectUsage(cacheKey, bean, beanName);
+
+        Object injectedObject = injectedObjectsCache.get(cacheKey);
+        if (Objects.nonNull(injectedObject)) {
+            return injectedObject;
+        }
+
+        if (isNonSingleton(beanName)) {
+            return createLazyProxy(attributes, bean, beanName, injectedType, injectedElement);
+        }
+        return lazyProxiesCache.computeIfAbsent(cacheKey, k -> createLazyProxy(attributes, bean, beanName, injectedType, injectedElement));
+    }
+
+    /**
+     * 创建延迟获取被注入对象的代理, 参数同{@link #getInjectedObject}
+     */
+    private Object createLazyProxy(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                   InjectionMetadata.InjectedElement injectedElement) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.addInterface(injectedType);
+        //线程安全, 且仅创建一次
+        proxyFactory.setTargetSource(new AbstractLazyCreationTargetSource() {
+            @Override
+            public Class<?> getTargetClass() {
+                return injectedType;
+            }
+
+            @Nonnull
+            @Override
+            protected Object createObject() throws Exception {
+                return getInjectedObject(attributes, bean, beanName, injectedType, injectedElement);
+            }
+        });
+        //jdk接口的class loader为null, 且接口的class loader不一定能加载spring aop class
+        return proxyFactory.getProxy(beanClassLoader);
+    }
+
+    /**
+     * 获取被注入对象缓存key
+     * 如果{@link #isElementScopedCacheKey()}返回true, 则每个注入点仅构建一次缓存key
+     */
+    private InjectedObjectCacheKey getInjectedObjectCacheKey(AnnotationAttributes attributes, Object bean, String beanName,
+                                                             Class<?> injectedType, InjectionMetadata.InjectedElement injectedElement,
+                                                             boolean multiple) {
+        if (injectedElement instanceof AbstractAnnotatedElement && isElementScopedCacheKey()) {
+            AbstractAnnotatedElement annotatedElement = (AbstractAnnotatedElement) injectedElement;
+            InjectedObjectCacheKey cacheKey = annotatedElement.cacheKey;
+            if (Objects.isNull(cacheKey)) {
+                //并发构建也无副作用, 故无需加锁
+                cacheKey = new InjectedObjectCacheKey(
+                        buildInjectedObjectCacheKey(attributes, bean, beanName, injectedType, injectedElement), injectedType, multiple);
+                annotatedElement.cacheKey = cacheKey;
+            }
+            return cacheKey;
+        }
+        return new InjectedObjectCacheKey(
+                buildInjectedObjectCacheKey(attributes, bean, beanName, injectedType, injectedElement), injectedType, multiple);
+    }
+
+    /**
+     * 记录被注入对象的使用方, singleton bean使用过的缓存key不会被淘汰,
+     * 非由{@link #beanClassLoader}加载的bean请求的被注入对象则记录其class loader, 以便{@link #release(ClassLoader)}时释放
+     */
+    private void trackInjectedObjectUsage(InjectedObjectCacheKey cacheKey, Object bean, String beanName) {
+        if (maxNonSingletonInjectedObjects > 0 && !singletonInjectedObjectKeys.contains(cacheKey) && !isNonSingleton(beanName)) {
+            synchronized (nonSingletonInjectedObjectKeys) {
+                singletonInjectedObjectKeys.add(cacheKey);
+                nonSingletonInjectedObjectKeys.remove(cacheKey);
+            }
+        }
+        ClassLoader requesterClassLoader = bean.getClass().getClassLoader();
+        if (Objects.nonNull(requesterClassLoader) && requesterClassLoader != beanClassLoader) {
+            requesterClassLoaders.putIfAbsent(cacheKey, requesterClassLoader);
+        }
+    }
+
+    /**
+     * 记录为非singleton bean创建的被注入对象, 超过{@link #maxNonSingletonInjectedObjects}则按创建顺序淘汰最早创建的
+     * 被淘汰的被注入对象不会立即销毁
+     */
+    private void evictNonSingletonInjectedObjects(InjectedObjectCacheKey cacheKey) {
+        List<InjectedObjectCacheKey> evictedKeys = null;
+        synchronized (nonSingletonInjectedObjectKeys) {
+            if (singletonInjectedObjectKeys.contains(cacheKey)) {
+                return;
+            }
+            nonSingletonInjectedObjectKeys.add(cacheKey);
+            Iterator<InjectedObjectCacheKey> iterator = nonSingletonInjectedObjectKeys.iterator();
+            while (nonSingletonInjectedObjectKeys.size() > maxNonSingletonInjectedObjects) {
+                if (Objects.isNull(evictedKeys)) {
+                    evictedKeys = new ArrayList<>();
+                }
+                evictedKeys.add(iterator.next());
+                iterator.remove();
+            }
+        }
+        if (Objects.isNull(evictedKeys)) {
+            return;
+        }
+
+        for (InjectedObjectCacheKey evictedKey : evictedKeys) {
+            Object evicted = injectedObjectsCache.remove(evictedKey);
+            if (Objects.nonNull(evicted)) {
+                lazyProxiesCache.remove(evictedKey);
+                requesterClassLoaders.remove(evictedKey);
+                injectedObjectEvictions.increment();
+                //借用的需归还, 其余需销毁的保留至destroy或者release时销毁
+                if (detachInjectedObject(evictedKey, evicted) && isDisposable(evicted)) {
+                    synchronized (retainedInjectedObjects) {
+                        retainedInjectedObjects.add(evicted);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 最近的祖先context中同类型processor, 未开启{@link #shareWithParent}或者不存在则返回null
+     */
+    @Nullable
+    private AbstractAnnotationBeanPostProcessor getParentProcessor() {
+        if (!shareWithParent) {
+            return null;
+        }
+        if (!parentProcessorResolved) {
+            AbstractAnnotationBeanPostProcessor parentProcessor = null;
+            ApplicationContext ancestor = Objects.nonNull(applicationContext) ? applicationContext.getParent() : null;
+            while (Objects.nonNull(ancestor) && Objects.isNull(parentProcessor)) {
+                //post processor在context refresh前已实例化, 故仅查找已创建的singleton
+                String[] processorNames = ancestor.getBeanNamesForType(getClass(), false, false);
+                if (processorNames.length == 1) {
+                    parentProcessor = ancestor.getBean(processorNames[0], AbstractAnnotationBeanPostProcessor.class);
+                } else if (processorNames.length > 1) {
+                    if (log.isWarnEnabled()) {
+                        log.warn("found {} processors of {} in parent context '{}', injected objects will not be shared",
+                                processorNames.length, getClass().getName(), ancestor.getId());
+                    }
+                    break;
+                }
+                ancestor = ancestor.getParent();
+            }
+            this.parentProcessor = parentProcessor;
+            this.parentProcessorResolved = true;
+        }
+        return parentProcessor;
+    }
+
+    /**
+     * 开启{@link #shareWithParent}时, 向父context processor借用被注入对象, 借用成功则缓存
+     *
+     * @return 缓存中的被注入对象, 父context processor不存在或者无可借用的被注入对象则返回null
+     */
+    @Nullable
+    private Object borrowInjectedObject(InjectedObjectCacheKey cacheKey) {
+        AbstractAnnotationBeanPostProcessor parentProcessor = getParentProcessor();
+        if (Objects.isNull(parentProcessor)) {
+            return null;
+        }
+        Object borrowed = parentProcessor.lendInjectedObject(cacheKey);
+        return Objects.nonNull(borrowed) ? cacheBorrowedInjectedObject(cacheKey, borrowed) : null;
+    }
+
+    /**
+     * 子context processor借用被注入对象, 优先返回已被共享的被注入对象, 其次是本processor缓存中的, 借出则引用计数加1
+     * 不会调用任何创建逻辑
+     *
+     * @return 被注入对象, 本processor已销毁或者不存在则返回null
+     */
+    @Nullable
+    private Object lendInjectedObject(InjectedObjectCacheKey cacheKey) {
+        //获取被注入对象以及引用计数加1需与destroy互斥, 以免借出正在销毁的被注入对象
+        Lock readLock = lifecycleLock.readLock();
+        readLock.lock();
+        try {
+            if (destroyed) {
+                return null;
+            }
+            synchronized (sharedReferences) {
+                Object injectedObject = sharedInjectedObjects.get(cacheKey);
+                if (Objects.isNull(injectedObject)) {
+                    injectedObject = injectedObjectsCache.get(cacheKey);
+                }
+                if (Objects.nonNull(injectedObject)) {
+                    sharedReferences.merge(cacheKey, 1, Integer::sum);
+                }
+                return injectedObject;
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 子context processor登记其创建的被注入对象以供其他子context共享, 引用计数加1
+     * 若其他子context已登记或者本processor已缓存, 则返回已有的被注入对象, 由调用方销毁其创建的被注入对象
+     *
+     * @return 被共享的被注入对象, 本processor已销毁则返回null, 由子context自行持有
+     */
+    @Nullable
+    private Object shareInjectedObject(InjectedObjectCacheKey cacheKey, Object injectedObject) {
+        Lock readLock = lifecycleLock.readLock();
+        readLock.lock();
+        try {
+            if (destroyed) {
+                return null;
+            }
+            synchronized (sharedReferences) {
+                Object existing = sharedInjectedObjects.get(cacheKey);
+                if (Objects.isNull(existing)) {
+                    existing = injectedObjectsCache.get(cacheKey);
+                }
+                if (Objects.isNull(existing)) {
+                    sharedInjectedObjects.put(cacheKey, injectedObject);
+                    existing = injectedObject;
+                }
+                sharedReferences.merge(cacheKey, 1, Integer::sum);
+                return existing;
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 子context processor归还被注入对象, 引用计数减1, 若本processor已不再持有且无其他子context共享, 则销毁或者继续归还给父context
+     */
+    private void returnInjectedObject(InjectedObjectCacheKey cacheKey) {
+        Object orphan = null;
+        synchronized (sharedReferences) {
+            Integer references = sharedReferences.get(cacheKey);
+            if (Objects.isNull(references)) {
+                return;
+            }
+            if (references > 1) {
+                sharedReferences.put(cacheKey, references - 1);
+            } else {
+                sharedReferences.remove(cacheKey);
+                orphan = sharedInjectedObjects.remove(cacheKey);
             }
         }
-        return pvs;
+        if (Objects.nonNull(orphan) && detachInjectedObject(cacheKey, orphan)) {
+            destroyQuietly(orphan);
+        }
     }
 
     /**
-     * @return 注解每个字段的数据
+     * 被注入对象移出本processor缓存后调用, 若仍被子context共享, 则暂存至最后一个子context归还, 若借用自父context, 则归还
+     *
+     * @return 是否需由调用方销毁
      */
-    private AnnotationAttributes getAnnotationAttributes(AnnotatedElement annotatedElement, Class<? extends Annotation> annotationType) {
-        //spring merged Annotation
-        Annotation mergedAnnotation = AnnotatedElementUtils.getMergedAnnotation(annotatedElement, annotationType);
-        if (Objects.nonNull(mergedAnnotation)) {
-            return AnnotationUtils.getAnnotationAttributes(annotatedElement, mergedAnnotation, false, true);
+    private boolean detachInjectedObject(InjectedObjectCacheKey cacheKey, Object injectedObject) {
+        synchronized (sharedReferences) {
+            if (sharedReferences.containsKey(cacheKey)) {
+                sharedInjectedObjects.put(cacheKey, injectedObject);
+                return false;
+            }
         }
-
-        Annotation annotation = annotatedElement.getAnnotation(annotationType);
-        if (Objects.nonNull(annotation)) {
-            return AnnotationUtils.getAnnotationAttributes(annotatedElement, annotation, false, true);
+        AbstractAnnotationBeanPostProcessor parentProcessor = this.parentProcessor;
+        if (borrowedInjectedObjectKeys.remove(cacheKey) && Objects.nonNull(parentProcessor)) {
+            parentProcessor.returnInjectedObject(cacheKey);
+            return false;
         }
-        return null;
+        return true;
     }
 
     /**
-     * Finds {@link InjectionMetadata.InjectedElement} Metadata from annotated fields
+     * 缓存借用自父context processor或者已登记至其共享的被注入对象
      *
-     * @param beanClass The {@link Class} of Bean
-     * @return non-null {@link List}
+     * @return 缓存中的被注入对象
      */
-    private List<AnnotatedFieldElement> findAnnotatedFieldMetadata(final Class<?> beanClass) {
-        List<AnnotatedFieldElement> elements = new LinkedList<>();
-        ReflectionUtils.doWithFields(beanClass, field -> {
-            for (Class<? extends Annotation> annotationType : getAnnotationTypes()) {
-                AnnotationAttributes attributes = getAnnotationAttributes(field, annotationType);
-                if (Objects.isNull(attributes)) {
-                    return;
-                }
-                if (Modifier.isStatic(field.getModifiers())) {
-                    if (log.isWarnEnabled()) {
-                        log.warn("@" + annotationType.getName() + " is not supported on static fields: " + field);
-                    }
-                    return;
-                }
-                elements.add(new AnnotatedFieldElement(field, attributes));
-            }
-        });
-
-        return elements;
+    private Object cacheBorrowedInjectedObject(InjectedObjectCacheKey cacheKey, Object injectedObject) {
+        Object old = injectedObjectsCache.putIfAbsent(cacheKey, injectedObject);
+        if (Objects.isNull(old)) {
+            borrowedInjectedObjectKeys.add(cacheKey);
+            return injectedObject;
+        }
+        //理论上不会发生, 归还多借用的引用
+        parentProcessor.returnInjectedObject(cacheKey);
+        return old;
     }
 
     /**
-     * Finds {@link InjectionMetadata.InjectedElement} Metadata from annotated methods
+     * 缓存本processor新创建的被注入对象, 开启{@link #shareWithParent}时先登记至父context processor共享
+     * 若其他子context已登记同一缓存key的被注入对象, 则销毁新创建的, 改为使用已登记的
      *
-     * @param beanClass The {@link Class} of Bean
-     * @return non-null {@link List}
+     * @return 缓存中的被注入对象
      */
-    private List<AnnotatedMethodElement> findAnnotatedMethodMetadata(final Class<?> beanClass) {
-        List<AnnotatedMethodElement> elements = new LinkedList<>();
-        ReflectionUtils.doWithMethods(beanClass, method -> {
-            Method bridgedMethod = findBridgedMethod(method);
-            if (!isVisibilityBridgeMethodPair(method, bridgedMethod)) {
-                return;
-            }
-
-            for (Class<? extends Annotation> annotationType : getAnnotationTypes()) {
-                AnnotationAttributes attributes = getAnnotationAttributes(bridgedMethod, annotationType);
-                if (Objects.isNull(attributes)) {
-                    return;
-                }
+    private Object cacheCreatedInjectedObject(InjectedObjectCacheKey cacheKey, Object injectedObject) {
+        AbstractAnnotationBeanPostProcessor parentProcessor = getParentProcessor();
+        Object shared = Objects.nonNull(parentProcessor) ? parentProcessor.shareInjectedObject(cacheKey, injectedObject) : null;
+        if (Objects.isNull(shared)) {
+            return cacheInjectedObject(cacheKey, injectedObject);
+        }
+        injectedObjectCreations.increment();
+        if (shared != injectedObject) {
+            //其他子context并发创建并先完成登记
+            duplicateInjectedObjectCreations.increment();
+            destroyQuietly(injectedObject);
+        }
+        return cacheBorrowedInjectedObject(cacheKey, shared);
+    }
 
-                if (method.equals(ClassUtils.getMostSpecificMethod(method, beanClass))) {
-                    if (Modifier.isStatic(method.getModifiers())) {
-                        if (log.isWarnEnabled()) {
-                            log.warn("@" + annotationType.getName() + " annotation is not supported on static methods: " + method);
-                        }
-                        return;
-                    }
-                    if (method.getParameterTypes().length == 0) {
-                        if (log.isWarnEnabled()) {
-                            log.warn("@" + annotationType.getName() + " annotation should only be used on methods with parameters: " +
-                                    method);
-                        }
-                    }
-                    PropertyDescriptor pd = BeanUtils.findPropertyForMethod(bridgedMethod, beanClass);
-                    elements.add(new AnnotatedMethodElement(method, pd, attributes));
-                }
-            }
-        });
+    /**
+     * 缓存新创建的被注入对象
+     *
+     * @return 缓存中的被注入对象
+     */
+    private Object cacheInjectedObject(InjectedObjectCacheKey cacheKey, Object injectedObject) {
+        injectedObjectCreations.increment();
+        Object old = injectedObjectsCache.putIfAbsent(cacheKey, injectedObject);
+        if (Objects.isNull(old)) {
+            return injectedObject;
+        }
 
-        return elements;
+        //理论上不会发生, 重复创建的对象需销毁, 不然会资源泄漏
+        duplicateInjectedObjectCreations.increment();
+        if (log.isWarnEnabled()) {
+            log.warn("injected object " + cacheKey + " was created more than once, destroy the duplicate one");
+        }
+        destroyQuietly(injectedObject);
+        return old;
     }
 
     /**
-     * 构建被注解元数据, 包含被注解字段和方法的元数据
+     * @return 被注入对象是否需要销毁, 批量获取的被注入对象则任一需要销毁即返回true
      */
-    private AnnotatedInjectionMetadata buildAnnotatedMetadata(final Class<?> beanClass) {
-        List<AnnotatedFieldElement> annotationedFieldMetadata = findAnnotatedFieldMetadata(beanClass);
-        List<AnnotatedMethodElement> annotatedMethodMetadata = findAnnotatedMethodMetadata(beanClass);
-        if (CollectionUtils.isNonEmpty(annotationedFieldMetadata) || CollectionUtils.isNonEmpty(annotatedMethodMetadata)) {
-            return new AnnotatedInjectionMetadata(beanClass, annotationedFieldMetadata, annotatedMethodMetadata);
+    private static boolean isDisposable(Object injectedObject) {
+        if (injectedObject instanceof InjectedObjectBatch) {
+            for (Object object : ((InjectedObjectBatch) injectedObject).getObjects().values()) {
+                if (object instanceof DisposableBean) {
+                    return true;
+                }
+            }
+            return false;
         }
-        return null;
+        return injectedObject instanceof DisposableBean;
     }
 
     /**
-     * 构建被注解Field或者Method的注入元数据
+     * 销毁被注入对象, 异常仅打印日志
      */
-    private InjectionMetadata findInjectionMetadata(String beanName, Class<?> clazz, PropertyValues pvs) {
-        // Fall back to class name as cache key, for backwards compatibility with custom callers.
-        String cacheKey = (StringUtils.hasLength(beanName) ? beanName : clazz.getName());
-        // Quick check on the concurrent map first, with minimal locking.
-        AnnotatedInjectionMetadata metadata = this.injectionMetadataCache.get(cacheKey);
-        if (InjectionMetadata.needsRefresh(metadata, clazz)) {
-            synchronized (this.injectionMetadataCache) {
-                metadata = this.injectionMetadataCache.get(cacheKey);
-                if (InjectionMetadata.needsRefresh(metadata, clazz)) {
-                    if (metadata != null) {
-                        metadata.clear(pvs);
-                    }
-                    try {
-                        metadata = buildAnnotatedMetadata(clazz);
-                        if (Objects.nonNull(metadata)) {
-                            this.injectionMetadataCache.put(cacheKey, metadata);
-                        }
-                    } catch (NoClassDefFoundError err) {
-                        throw new IllegalStateException("Failed to introspect object class [" + clazz.getName() +
-                                "] for annotation metadata: could not find class that it depends on", err);
-                    }
+    private void destroyQuietly(Object injectedObject) {
+        if (injectedObject instanceof InjectedObjectBatch) {
+            ((InjectedObjectBatch) injectedObject).getObjects().values().forEach(this::destroyQuietly);
+            return;
+        }
+        if (injectedObject instanceof DisposableBean) {
+            try {
+                ((DisposableBean) injectedObject).destroy();
+            } catch (Exception e) {
+                if (log.isWarnEnabled()) {
+                    log.warn("destroy injected object " + injectedObject + " fail", e);
                 }
             }
         }
-        return metadata;
     }
 
+    /**
+     * 如果{@link #buildInjectedObjectCacheKey}的结果仅取决于注解属性和被注入对象类型, 与bean实例和bean name无关,
+     * 子类可返回true, 则每个注入点仅构建一次缓存key, 不再每次注入都构建
+     *
+     * @return 缓存key是否仅与注入点相关
+     */
+    protected boolean isElementScopedCacheKey() {
+        return false;
+    }
 
-    @Override
-    public void postProcessMergedBeanDefinition(@Nonnull RootBeanDefinition beanDefinition, @Nonnull Class<?> beanType, @Nonnull String beanName) {
-        InjectionMetadata metadata = findInjectionMetadata(beanName, beanType, null);
-        if (Objects.nonNull(metadata)) {
-            metadata.checkConfigMembers(beanDefinition);
-        }
+    /**
+     * @return 调用{@link #doGetInjectedBean}或{@link #doGetInjectedBeanAsync}创建被注入对象的次数
+     */
+    public long getInjectedObjectCreationCount() {
+        return injectedObjectCreations.sum();
     }
 
-    @Override
-    public void destroy() throws Exception {
-        for (Object object : injectedObjectsCache.values()) {
-            if (log.isDebugEnabled()) {
-                log.debug(object + " was destroying!");
-            }
+    /**
+     * @return 同一缓存key的被注入对象被重复创建的次数, 正常情况下应为0
+     */
+    public long getDuplicateInjectedObjectCreationCount() {
+        return duplicateInjectedObjectCreations.sum();
+    }
 
-            if (object instanceof DisposableBean) {
-                ((DisposableBean) object).destroy();
-            }
-        }
+    /**
+     * @return 等待其他线程创建被注入对象的次数
+     */
+    public long getSingleFlightWaitCount() {
+        return singleFlightWaits.sum();
+    }
 
-        injectionMetadataCache.clear();
-        injectedObjectsCache.clear();
+    /**
+     * @return 等待其他线程创建被注入对象超时的次数
+     */
+    public long getSingleFlightWaitTimeoutCount() {
+        return singleFlightWaitTimeouts.sum();
+    }
 
-        if (log.isDebugEnabled()) {
-            log.debug(getClass() + " was destroying!");
-        }
+    /**
+     * @return 注入元数据缓存大小, 包括不存在注入点的class以及非cache safe的class
+     */
+    public int getInjectionMetadataCacheSize() {
+        return injectionMetadataCache.size() + nonCacheSafeInjectionMetadataCache.size();
     }
 
     /**
-     * Gets all injected-objects.
-     *
-     * @return non-null {@link Collection}
+     * @return 被释放的注入元数据数量
      */
-    protected Collection<Object> getInjectedObjects() {
-        return this.injectedObjectsCache.values();
+    public long getMetadataEvictionCount() {
+        return metadataEvictions.sum();
     }
 
     /**
-     * Get injected-object from specified {@link AnnotationAttributes annotation attributes} and Bean Class
-     *
-     * @param attributes      {@link AnnotationAttributes the annotation attributes}
-     * @param bean            Current bean that will be injected
-     * @param beanName        Current bean name that will be injected
-     * @param injectedType    the type of injected-object
-     * @param injectedElement {@link InjectionMetadata.InjectedElement}
-     * @return An injected object
-     * @throws Exception If getting is failed
+     * @return 被淘汰或者释放的被注入对象数量
      */
-    protected Object getInjectedObject(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
-                                       InjectionMetadata.InjectedElement injectedElement) throws Exception {
+    public long getInjectedObjectEvictionCount() {
+        return injectedObjectEvictions.sum();
+    }
+
+    /**
+     * @return 调用{@link #doBatchGetInjectedBeans}的次数
+     */
+    public long getInjectedObjectBatchCount() {
+        return injectedObjectBatches.sum();
+    }
 
-        String cacheKey = buildInjectedObjectCacheKey(attributes, bean, beanName, injectedType, injectedElement);
+    /**
+     * @return 批量预获取的被注入对象数量
+     */
+    public long getBatchedInjectedObjectCount() {
+        return batchedInjectedObjects.sum();
+    }
 
-        Object injectedObject = injectedObjectsCache.get(cacheKey);
+    /**
+     * @return 被过滤器跳过, 未反射扫描注入点的bean数量, 每个bean name仅计数一次
+     */
+    public long getSkippedBeanCount() {
+        return skippedBeans.sum();
+    }
+
+    /**
+     * @return 借用自父context processor或者登记至其共享的被注入对象数量
+     */
+    public int getBorrowedInjectedObjectCount() {
+        return borrowedInjectedObjectKeys.size();
+    }
 
-        if (injectedObject == null) {
-            injectedObject = doGetInjectedBean(attributes, bean, beanName, injectedType, injectedElement);
-            // Customized inject-object if necessary
-            injectedObjectsCache.putIfAbsent(cacheKey, injectedObject);
+    /**
+     * @return 被子context processor共享的被注入对象数量
+     */
+    public int getSharedInjectedObjectCount() {
+        synchronized (sharedReferences) {
+            return sharedReferences.size();
         }
+    }
 
-        return injectedObject;
+    /**
+     * @return 被注入对象缓存大小
+     */
+    public int getInjectedObjectCacheSize() {
+        return injectedObjectsCache.size();
+    }
 
+    /**
+     * 异步获取被注入对象, 开启{@link #setAsyncInjection(boolean)}后使用, 参数同{@link #doGetInjectedBean}
+     * 默认在当前线程同步调用{@link #doGetInjectedBean}, 子类需重写该方法才能真正并发获取, 比如在自定义线程池中执行或者基于异步网络请求实现
+     *
+     * @return 被注入对象future
+     */
+    protected CompletableFuture<Object> doGetInjectedBeanAsync(AnnotationAttributes attributes, Object bean, String beanName,
+                                                               Class<?> injectedType,
+                                                               InjectionMetadata.InjectedElement injectedElement) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try {
+            future.complete(doGetInjectedBean(attributes, bean, beanName, injectedType, injectedElement));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
     }
 
     /**
@@ -288,6 +1971,48 @@ public abstract class AbstractAnnotationBeanPostProcessor implements SmartInstan
     protected abstract Object doGetInjectedBean(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
                                                 InjectionMetadata.InjectedElement injectedElement) throws Exception;
 
+    /**
+     * 批量获取所有匹配的被注入对象, 用于注入集合或者{@code Map<String, ?>}类型的字段
+     * 子类可重写该方法, 单次调用获取全部被注入对象, 默认调用{@link #doGetInjectedBean}获取单个被注入对象
+     *
+     * @param attributes      {@link AnnotationAttributes the annotation attributes}
+     * @param bean            Current bean that will be injected
+     * @param beanName        Current bean name that will be injected
+     * @param elementType     集合元素类型或者map value类型
+     * @param injectedElement {@link InjectionMetadata.InjectedElement}
+     * @return key -> 被注入对象名称, 注入map时作为key, value -> 被注入对象, 注入集合时按迭代顺序排列
+     * @throws Exception If resolving injected objects is failed.
+     */
+    protected Map<String, Object> doGetInjectedBeans(AnnotationAttributes attributes, Object bean, String beanName,
+                                                     Class<?> elementType, InjectionMetadata.InjectedElement injectedElement) throws Exception {
+        Object injectedObject = doGetInjectedBean(attributes, bean, beanName, elementType, injectedElement);
+        return Collections.singletonMap(buildInjectedObjectCacheKey(attributes, bean, beanName, elementType, injectedElement),
+                injectedObject);
+    }
+
+    /**
+     * 批量获取被注入对象的显式开关, 子类重写{@link #doBatchGetInjectedBeans}后需返回true, 且{@link #isElementScopedCacheKey()}也需返回true,
+     * 才会批量预获取被注入对象, 否则不会调用{@link #doBatchGetInjectedBeans}
+     *
+     * @return 是否支持批量获取被注入对象
+     */
+    protected boolean isBatchInjectionSupported() {
+        return false;
+    }
+
+    /**
+     * 批量获取被注入对象, 用于预热时合并多个注入点的被注入对象获取, 比如一次注册中心查询获取多个服务引用
+     * 请求已按缓存key去重, 每批请求数不超过{@link #setInjectedObjectBatchSize(int)}
+     * 默认不返回任何被注入对象, 即所有请求均回退为调用{@link #doGetInjectedBean}
+     *
+     * @param requests 被注入对象请求
+     * @return key -> {@link InjectedObjectRequest#getCacheKey()}, value -> 被注入对象, 未返回的请求在bean注入时回退为调用{@link #doGetInjectedBean}
+     * @throws Exception If resolving injected objects is failed, 所有请求均回退为调用{@link #doGetInjectedBean}
+     */
+    protected Map<InjectedObjectCacheKey, Object> doBatchGetInjectedBeans(List<InjectedObjectRequest> requests) throws Exception {
+        return Collections.emptyMap();
+    }
+
     /**
      * Build a cache key for injected-object.
      *
@@ -304,28 +2029,145 @@ public abstract class AbstractAnnotationBeanPostProcessor implements SmartInstan
 
     //----------------------------------------------------------------------------------------------------------------
     @SafeVarargs
-    private static Collection<InjectionMetadata.InjectedElement> combine(Collection<? extends InjectionMetadata.InjectedElement>... elements) {
-        List<InjectionMetadata.InjectedElement> allElements = new ArrayList<>();
-        for (Collection<? extends InjectionMetadata.InjectedElement> e : elements) {
+    private static List<AbstractAnnotatedElement> combine(Collection<? extends AbstractAnnotatedElement>... elements) {
+        List<AbstractAnnotatedElement> allElements = new ArrayList<>();
+        for (Collection<? extends AbstractAnnotatedElement> e : elements) {
             allElements.addAll(e);
         }
         return allElements;
     }
 
+    /**
+     * 批量获取的被注入对象, 缓存在{@link #injectedObjectsCache}, 注入时转换成字段声明的集合或者map类型
+     */
+    private static final class InjectedObjectBatch {
+        /** key -> 被注入对象名称, value -> 被注入对象 */
+        private final Map<String, Object> objects;
+
+        InjectedObjectBatch(Map<String, Object> objects) {
+            Assert.notNull(objects, "injected objects must not be null");
+            this.objects = Collections.unmodifiableMap(new LinkedHashMap<>(objects));
+        }
+
+        /**
+         * @return {@code containerType}实例
+         */
+        @SuppressWarnings("unchecked")
+        Object toContainer(Class<?> containerType, Class<?> elementType) {
+            if (Map.class.isAssignableFrom(containerType)) {
+                Map<Object, Object> map = CollectionFactory.createMap(containerType, String.class, objects.size());
+                map.putAll(objects);
+                return map;
+            }
+            Collection<Object> collection = CollectionFactory.createCollection(containerType, elementType, objects.size());
+            collection.addAll(objects.values());
+            return collection;
+        }
+
+        Map<String, Object> getObjects() {
+            return objects;
+        }
+    }
+
+    /**
+     * 字段注入类型解析结果
+     */
+    private static final class ResolvedInjectionType {
+        /** 被注入对象类型, 注入集合或者map时为集合元素类型或者map value类型, null则无需注入 */
+        @Nullable
+        private final Class<?> injectedType;
+        /** 集合或者map类型, null则注入单个对象 */
+        @Nullable
+        private final Class<?> containerType;
+
+        private ResolvedInjectionType(@Nullable Class<?> injectedType, @Nullable Class<?> containerType) {
+            this.injectedType = injectedType;
+            this.containerType = containerType;
+        }
+
+        /**
+         * 基于{@link ResolvableType}解析字段注入类型, 支持泛型字段以及{@code Collection<T>}和{@code Map<String, T>}字段
+         *
+         * @param targetClass bean target class, null则表示字段不含泛型
+         */
+        static ResolvedInjectionType resolve(Field field, @Nullable Class<?> targetClass) {
+            ResolvableType type = Objects.nonNull(targetClass) ? ResolvableType.forField(field, targetClass) : ResolvableType.forField(field);
+            Class<?> rawType = type.resolve();
+            if (Objects.isNull(rawType)) {
+                return new ResolvedInjectionType(null, null);
+            }
+            if (Collection.class.isAssignableFrom(rawType)) {
+                Class<?> elementType = type.asCollection().resolveGeneric();
+                if (Objects.nonNull(elementType) && elementType != Object.class) {
+                    return new ResolvedInjectionType(elementType, rawType);
+                }
+            } else if (Map.class.isAssignableFrom(rawType)) {
+                ResolvableType mapType = type.asMap();
+                Class<?> valueType = mapType.resolveGeneric(1);
+                if (mapType.resolveGeneric(0) == String.class && Objects.nonNull(valueType) && valueType != Object.class) {
+                    return new ResolvedInjectionType(valueType, rawType);
+                }
+            }
+            return new ResolvedInjectionType(rawType, null);
+        }
+    }
+
+    /**
+     * context关闭事件监听器, 独立成类以免与子类实现的{@link ApplicationListener}冲突
+     */
+    private class ContextClosedListener implements ApplicationListener<ContextClosedEvent> {
+        @Override
+        public void onApplicationEvent(@Nonnull ContextClosedEvent event) {
+            onContextClosed(event);
+        }
+    }
+
+    /**
+     * context refresh事件监听器
+     */
+    private class ContextRefreshedListener implements ApplicationListener<ContextRefreshedEvent> {
+        @Override
+        public void onApplicationEvent(@Nonnull ContextRefreshedEvent event) {
+            onContextRefreshed(event);
+        }
+    }
+
+    /**
+     * 正在创建的被注入对象
+     */
+    private static final class InjectedObjectCreation extends CompletableFuture<Object> {
+        /** 同步创建线程, 用于检测循环依赖, 异步创建则为null */
+        @Nullable
+        private final Thread creator;
+
+        InjectedObjectCreation(@Nullable Thread creator) {
+            this.creator = creator;
+        }
+    }
+
     /**
      * {@link Annotation Annotated} {@link InjectionMetadata} implementation
      */
-    private class AnnotatedInjectionMetadata extends InjectionMetadata {
+    private static class AnnotatedInjectionMetadata extends InjectionMetadata {
         /** 被注解字段元数据 */
         private final Collection<AnnotatedFieldElement> fieldElements;
         /** 被注解方法元数据 */
         private final Collection<AnnotatedMethodElement> methodElements;
+        /** 所有被注解字段和方法元数据 */
+        private final List<AbstractAnnotatedElement> elements;
 
         public AnnotatedInjectionMetadata(Class<?> targetClass, Collection<AnnotatedFieldElement> fieldElements,
                                           Collection<AnnotatedMethodElement> methodElements) {
-            super(targetClass, combine(fieldElements, methodElements));
+            this(targetClass, fieldElements, methodElements, combine(fieldElements, methodElements));
+        }
+
+        private AnnotatedInjectionMetadata(Class<?> targetClass, Collection<AnnotatedFieldElement> fieldElements,
+                                           Collection<AnnotatedMethodElement> methodElements,
+                                           List<AbstractAnnotatedElement> elements) {
+            super(targetClass, Collections.unmodifiableList(elements));
             this.fieldElements = fieldElements;
             this.methodElements = methodElements;
+            this.elements = elements;
         }
 
         public Collection<AnnotatedFieldElement> getFieldElements() {
@@ -335,67 +2177,238 @@ public abstract class AbstractAnnotationBeanPostProcessor implements SmartInstan
         public Collection<AnnotatedMethodElement> getMethodElements() {
             return methodElements;
         }
+
+        public List<AbstractAnnotatedElement> getElements() {
+            return elements;
+        }
     }
 
     /**
-     * {@link Annotation Annotated} {@link Method} {@link InjectionMetadata.InjectedElement}
+     * {@link Annotation Annotated} {@link InjectionMetadata.InjectedElement}基类
      */
-    private class AnnotatedMethodElement extends InjectionMetadata.InjectedElement {
-        /** 被注解方法 */
-        private final Method method;
+    public abstract class AbstractAnnotatedElement extends InjectionMetadata.InjectedElement {
         /** 被注解信息 */
-        private final AnnotationAttributes attributes;
+        protected final AnnotationAttributes attributes;
+        /** 编译后的注入器, 首次注入时编译 */
+        private volatile MemberInjector injector;
+        /** 被注入对象缓存key, 仅当{@link #isElementScopedCacheKey()}返回true时使用 */
+        private volatile InjectedObjectCacheKey cacheKey;
 
-        protected AnnotatedMethodElement(Method method, PropertyDescriptor pd, AnnotationAttributes attributes) {
-            super(method, pd);
-            this.method = method;
+        protected AbstractAnnotatedElement(Member member, @Nullable PropertyDescriptor pd, AnnotationAttributes attributes) {
+            super(member, pd);
             this.attributes = attributes;
         }
 
         @Override
         protected void inject(@Nonnull Object bean, String beanName, PropertyValues pvs) throws Throwable {
-            if (Objects.isNull(pd)) {
+            Class<?> injectedType = resolveInjectedType(bean);
+            if (Objects.isNull(injectedType)) {
                 return;
             }
-            Class<?> injectedType = pd.getPropertyType();
-            Object injectedObject = getInjectedObject(attributes, bean, beanName, injectedType, this);
-            ReflectionUtils.makeAccessible(method);
-            method.invoke(bean, injectedObject);
+            StartupStep step = null;
+            if (startupTracking) {
+                step = applicationStartup.start(INJECTION_POINT_STARTUP_STEP)
+                        .tag("beanName", beanName)
+                        .tag("member", member.getDeclaringClass().getName() + "#" + member.getName())
+                        .tag("injectedType", injectedType.getName());
+            }
+            try {
+                Class<?> containerType = resolveContainerType(bean);
+                Object injectedObject;
+                if (Objects.nonNull(containerType)) {
+                    injectedObject = getMultipleInjectedObjects(attributes, bean, beanName, injectedType, containerType, this);
+                } else if (isLazyInjection(attributes, injectedType)) {
+                    injectedObject = getLazyInjectedObject(attributes, bean, beanName, injectedType, this);
+                } else {
+                    injectedObject = getInjectedObject(attributes, bean, beanName, injectedType, this);
+                }
+                getInjector().inject(bean, injectedObject);
+            } finally {
+                if (Objects.nonNull(step)) {
+                    step.end();
+                }
+            }
+        }
+
+        /**
+         * 异步获取被注入对象
+         *
+         * @return 被注入对象future, 如果该注入点无需注入, 则返回null
+         */
+        @Nullable
+        CompletableFuture<Object> resolveAsync(Object bean, String beanName) {
+            Class<?> injectedType = resolveInjectedType(bean);
+            if (Objects.isNull(injectedType)) {
+                return null;
+            }
+            Class<?> containerType = resolveContainerType(bean);
+            if (Objects.nonNull(containerType)) {
+                //批量获取本身仅调用一次, 故同步获取
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                try {
+                    future.complete(getMultipleInjectedObjects(attributes, bean, beanName, injectedType, containerType, this));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+                return future;
+            }
+            if (isLazyInjection(attributes, injectedType)) {
+                return CompletableFuture.completedFuture(getLazyInjectedObject(attributes, bean, beanName, injectedType, this));
+            }
+            return getInjectedObjectAsync(attributes, bean, beanName, injectedType, this);
+        }
+
+        /**
+         * 注入已获取的被注入对象
+         */
+        void injectResolved(Object bean, Object injectedObject) throws Throwable {
+            getInjector().inject(bean, injectedObject);
+        }
+
+        private MemberInjector getInjector() {
+            MemberInjector injector = this.injector;
+            if (Objects.isNull(injector)) {
+                //并发编译也无副作用, 故无需加锁
+                injector = compileInjector();
+                this.injector = injector;
+            }
+            return injector;
+        }
+
+        /**
+         * @return 被注入对象类型, 注入集合或者map时为集合元素类型或者map value类型, 如果无需注入, 则返回null
+         */
+        @Nullable
+        protected abstract Class<?> resolveInjectedType(Object bean);
+
+        /**
+         * @return 集合或者map类型, 如果注入单个对象, 则返回null
+         */
+        @Nullable
+        protected Class<?> resolveContainerType(Object bean) {
+            return null;
+        }
+
+        /**
+         * 根据bean class解析单个被注入对象类型, 用于bean实例化前批量预获取被注入对象
+         *
+         * @return 被注入对象类型, 如果注入集合, map或者无需注入, 则返回null
+         */
+        @Nullable
+        protected abstract Class<?> resolveSingleInjectedType(Class<?> beanClass);
+
+        /**
+         * @return 编译后的注入器
+         */
+        protected abstract MemberInjector compileInjector();
+    }
+
+    /**
+     * {@link Annotation Annotated} {@link Method} {@link InjectionMetadata.InjectedElement}
+     */
+    private class AnnotatedMethodElement extends AbstractAnnotatedElement {
+        /** 被注解方法 */
+        private final Method method;
+
+        protected AnnotatedMethodElement(Method method, @Nullable PropertyDescriptor pd, AnnotationAttributes attributes) {
+            super(method, pd, attributes);
+            this.method = method;
+        }
+
+        @Nullable
+        @Override
+        protected Class<?> resolveInjectedType(Object bean) {
+            return Objects.nonNull(pd) ? pd.getPropertyType() : null;
+        }
+
+        @Nullable
+        @Override
+        protected Class<?> resolveSingleInjectedType(Class<?> beanClass) {
+            return Objects.nonNull(pd) ? pd.getPropertyType() : null;
+        }
+
+        @Override
+        protected MemberInjector compileInjector() {
+            return MemberInjector.compile(method);
         }
     }
 
     /**
      * {@link Annotation Annotated} {@link Field} {@link InjectionMetadata.InjectedElement}
      */
-    public class AnnotatedFieldElement extends InjectionMetadata.InjectedElement {
+    public class AnnotatedFieldElement extends AbstractAnnotatedElement {
         /** 被注解字段 */
         private final Field field;
-        /** 被注解信息 */
-        private final AnnotationAttributes attributes;
+        /** 不含泛型的字段的注入类型解析结果, 与bean target class无关, 故仅解析一次, 含泛型的字段则为null */
+        @Nullable
+        private final ResolvedInjectionType plainResolvedType;
+        /**
+         * 含泛型的字段的注入类型解析结果, key -> bean target class
+         * 同一注入点可能被多个子类共享(比如泛型基类), 各子类解析结果可能不同, 故按target class缓存, 不含泛型的字段则为null
+         */
+        @Nullable
+        private final ConcurrentMap<Class<?>, ResolvedInjectionType> resolvedTypes;
 
         protected AnnotatedFieldElement(Field field, AnnotationAttributes attributes) {
-            super(field, null);
+            super(field, null, attributes);
             this.field = field;
-            this.attributes = attributes;
+            if (field.getGenericType() instanceof Class) {
+                this.plainResolvedType = ResolvedInjectionType.resolve(field, null);
+                this.resolvedTypes = null;
+            } else {
+                this.plainResolvedType = null;
+                this.resolvedTypes = new ConcurrentHashMap<>(4);
+            }
         }
 
+        @Nullable
         @Override
-        protected void inject(@Nonnull Object bean, String beanName, PropertyValues pvs) throws Throwable {
-            Class<?> injectedType = resolveInjectedType(bean, field);
-            Object injectedObject = getInjectedObject(attributes, bean, beanName, injectedType, this);
-            ReflectionUtils.makeAccessible(field);
-            field.set(bean, injectedObject);
+        protected Class<?> resolveInjectedType(Object bean) {
+            return resolveType(bean).injectedType;
         }
 
-        private Class<?> resolveInjectedType(Object bean, Field field) {
-            Type genericType = field.getGenericType();
-            if (genericType instanceof Class) {
-                // Just a normal Class
-                return field.getType();
-            } else {
-                // GenericType
-                return resolveTypeArgument(getTargetClass(bean), field.getDeclaringClass());
+        @Nullable
+        @Override
+        protected Class<?> resolveContainerType(Object bean) {
+            return resolveType(bean).containerType;
+        }
+
+        @Nullable
+        @Override
+        protected Class<?> resolveSingleInjectedType(Class<?> beanClass) {
+            ResolvedInjectionType resolvedType = resolveTypeOf(beanClass);
+            return Objects.isNull(resolvedType.containerType) ? resolvedType.injectedType : null;
+        }
+
+        /**
+         * 解析字段注入类型
+         */
+        private ResolvedInjectionType resolveType(Object bean) {
+            return Objects.nonNull(plainResolvedType) ? plainResolvedType : resolveTypeOf(getTargetClass(bean));
+        }
+
+        /**
+         * 解析字段注入类型, 按(bean target class, field)缓存
+         */
+        private ResolvedInjectionType resolveTypeOf(Class<?> targetClass) {
+            if (Objects.nonNull(plainResolvedType)) {
+                return plainResolvedType;
+            }
+            return resolvedTypes.computeIfAbsent(targetClass, k -> ResolvedInjectionType.resolve(field, k));
+        }
+
+        /**
+         * 移除由{@code classLoader}及其子class loader加载的bean target class的解析结果
+         */
+        private void releaseResolvedTypes(ClassLoader classLoader) {
+            if (Objects.nonNull(resolvedTypes)) {
+                resolvedTypes.keySet().removeIf(targetClass -> isSameOrDescendant(targetClass.getClassLoader(), classLoader));
             }
         }
+
+        @Override
+        protected MemberInjector compileInjector() {
+            return MemberInjector.compile(field);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * bean definition变更追踪器, 供按bean factory缓存bean definition元数据的索引以O(1)判断bean definition是否变化,
+ * 比如{@link BeanFactoryMethodAnnotationIndex}以及condition包下的bean查找索引
+ * <p>
+ * 首次获取时作为{@link MergedBeanDefinitionPostProcessor}注册至bean factory. 移除或者以同名bean definition覆盖时,
+ * {@link DefaultListableBeanFactory}会回调{@link #resetBeanDefinition(String)}, 即重置次数增加, 新增bean definition则bean definition数量增加,
+ * 故重置次数以及bean definition数量均未变化, 即bean definition未增删或者覆盖.
+ * 直接修改已注册的bean definition实例无法感知, 需由索引自行提供失效方法
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class BeanDefinitionChangeTracker implements MergedBeanDefinitionPostProcessor {
+    /**
+     * key -> bean factory, 弱引用, 以免阻止bean factory回收, 需持有自身锁访问
+     * value仅被bean factory的post processor列表引用, 不引用bean factory, 故仅在bean factory被回收时移除
+     */
+    private static final Map<ConfigurableListableBeanFactory, BeanDefinitionChangeTracker> TRACKERS = new WeakHashMap<>(16);
+
+    /** bean definition被移除或者覆盖的次数 */
+    private final AtomicLong resetCount = new AtomicLong();
+
+    private BeanDefinitionChangeTracker() {
+    }
+
+    /**
+     * 获取{@code beanFactory}对应的追踪器, 不存在则创建并注册至{@code beanFactory}
+     * 注册前的变更无需感知, 因为依赖追踪器的索引均在获取追踪器后才构建
+     */
+    public static BeanDefinitionChangeTracker of(ConfigurableListableBeanFactory beanFactory) {
+        synchronized (TRACKERS) {
+            BeanDefinitionChangeTracker tracker = TRACKERS.get(beanFactory);
+            if (Objects.isNull(tracker)) {
+                tracker = new BeanDefinitionChangeTracker();
+                beanFactory.addBeanPostProcessor(tracker);
+                TRACKERS.put(beanFactory, tracker);
+            }
+            return tracker;
+        }
+    }
+
+    @Override
+    public void postProcessMergedBeanDefinition(@Nonnull RootBeanDefinition beanDefinition, @Nonnull Class<?> beanType, @Nonnull String beanName) {
+        //do nothing
+    }
+
+    @Override
+    public void resetBeanDefinition(@Nonnull String beanName) {
+        resetCount.incrementAndGet();
+    }
+
+    /**
+     * 需在读取bean definition前获取, 以免遗漏读取过程中的变更
+     *
+     * @return bean definition被移除或者覆盖的次数
+     */
+    public long getResetCount() {
+        return resetCount.get();
+    }
+}
@@ -1,48 +1,23 @@
 package org.kin.framework.spring.beans;
 
-import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
-import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.core.annotation.AnnotationAttributes;
-import org.springframework.core.type.MethodMetadata;
 
-import javax.annotation.Nullable;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * spring bean definition工具类
+ * 查询基于按bean factory缓存的factory method注解索引, 返回的注解属性实例不可变且共享
  * @author huangjianqin
  * @date 2022/7/18
  */
 public final class BeanDefinitionUtils {
-    private static final AnnotationAttributes EMPTY_ANNOTATION_ATTRIBUTES = new AnnotationAttributes();
+    private static final AnnotationAttributes EMPTY_ANNOTATION_ATTRIBUTES = new ImmutableAnnotationAttributes();
 
     private BeanDefinitionUtils() {
     }
 
-    /**
-     *
-     * @return
-     */
-    @Nullable
-    private static MethodMetadata getBeanFactoryMethodMetadata(ConfigurableListableBeanFactory beanFactory,
-                                                               String beanName){
-        try {
-            BeanDefinition beanDefinition = beanFactory.getBeanDefinition(beanName);
-            if (!(beanDefinition instanceof AnnotatedBeanDefinition)) {
-                return null;
-            }
-
-            return ((AnnotatedBeanDefinition) beanDefinition).getFactoryMethodMetadata();
-        } catch (Exception e) {
-            //ignore
-            //有些bean没有bean definition, 比如spring.cloud.config-org.springframework.cloud.bootstrap.config.PropertySourceBootstrapProperties
-        }
-
-        return null;
-    }
-
     /**
      * 获取定义在spring bean factory method上的指定注解属性
      */
@@ -58,17 +33,14 @@ public final class BeanDefinitionUtils {
     public static AnnotationAttributes getBeanFactoryMethodAnnoAttributes(ConfigurableListableBeanFactory beanFactory,
                                                                     String beanName,
                                                                     String annotationName){
-        MethodMetadata factoryMethodMetadata = getBeanFactoryMethodMetadata(beanFactory, beanName);
-        if (Objects.isNull(factoryMethodMetadata)) {
+        AnnotationAttributes annoAttrs = BeanFactoryMethodAnnotationIndex.of(beanFactory)
+                .getAnnotatedBeans(annotationName)
+                .get(beanName);
+        if (Objects.isNull(annoAttrs)) {
             return EMPTY_ANNOTATION_ATTRIBUTES;
         }
 
-        Map<String, Object> annoAttrsMap = factoryMethodMetadata.getAnnotationAttributes(annotationName);
-        if (Objects.isNull(annoAttrsMap)) {
-            return EMPTY_ANNOTATION_ATTRIBUTES;
-        }
-
-        return new AnnotationAttributes(annoAttrsMap);
+        return annoAttrs;
     }
 
     /**
@@ -86,11 +58,34 @@ public final class BeanDefinitionUtils {
     public static boolean isBeanFactoryMethodAnnotated(ConfigurableListableBeanFactory beanFactory,
                                                  String beanName,
                                                  String annotationName){
-        MethodMetadata factoryMethodMetadata = getBeanFactoryMethodMetadata(beanFactory, beanName);
-        if (Objects.isNull(factoryMethodMetadata)) {
-            return false;
-        }
+        return BeanFactoryMethodAnnotationIndex.of(beanFactory)
+                .getAnnotatedBeans(annotationName)
+                .containsKey(beanName);
+    }
+
+    /**
+     * 获取factory method带指定注解的所有bean name, 按bean definition注册顺序排列
+     */
+    public static Set<String> getBeanNamesWithFactoryMethodAnno(ConfigurableListableBeanFactory beanFactory,
+                                                               Class<?> annotationClass){
+        return getBeanNamesWithFactoryMethodAnno(beanFactory, annotationClass.getName());
+    }
 
-        return factoryMethodMetadata.isAnnotated(annotationName);
+    /**
+     * 获取factory method带指定注解的所有bean name, 按bean definition注册顺序排列
+     */
+    public static Set<String> getBeanNamesWithFactoryMethodAnno(ConfigurableListableBeanFactory beanFactory,
+                                                               String annotationName){
+        return BeanFactoryMethodAnnotationIndex.of(beanFactory)
+                .getAnnotatedBeans(annotationName)
+                .keySet();
+    }
+
+    /**
+     * 使{@code beanFactory}的factory method注解索引失效, 下次查询时重建
+     * 新增, 移除或者以同名bean definition覆盖时会自动重建, 仅直接修改已注册的bean definition(比如factory method)时需手动调用
+     */
+    public static void invalidateBeanFactoryMethodIndex(ConfigurableListableBeanFactory beanFactory){
+        BeanFactoryMethodAnnotationIndex.invalidate(beanFactory);
     }
 }
@@ -0,0 +1,139 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * bean factory method注解索引
+ * <p>
+ * 遍历一次bean definition收集所有factory method元数据, 每种注解首次查询时再构建bean name -> 注解属性映射, 注解属性实例不可变且共享.
+ * bean definition增删或者以同名bean definition覆盖时重建, 由{@link BeanDefinitionChangeTracker}以O(1)感知,
+ * 仅直接修改已注册的bean definition实例时需调用{@link #invalidate(ConfigurableListableBeanFactory)}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+final class BeanFactoryMethodAnnotationIndex {
+    /**
+     * key -> bean factory, 软引用, 以免阻止bean factory回收.
+     * 不能使用弱引用, 因为entry仅被弱引用持有, 任意一次gc均会回收entry, 导致索引重建
+     */
+    private static final Map<ConfigurableListableBeanFactory, BeanFactoryMethodAnnotationIndex> INDEXES =
+            new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final BeanDefinitionChangeTracker changeTracker;
+    /** 当前索引快照 */
+    private volatile Snapshot snapshot;
+
+    private BeanFactoryMethodAnnotationIndex(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        this.changeTracker = BeanDefinitionChangeTracker.of(beanFactory);
+    }
+
+    /**
+     * 获取{@code beanFactory}对应的索引
+     */
+    static BeanFactoryMethodAnnotationIndex of(ConfigurableListableBeanFactory beanFactory) {
+        return INDEXES.computeIfAbsent(beanFactory, BeanFactoryMethodAnnotationIndex::new);
+    }
+
+    /**
+     * 移除{@code beanFactory}对应的索引, 下次查询时重建
+     */
+    static void invalidate(ConfigurableListableBeanFactory beanFactory) {
+        INDEXES.remove(beanFactory);
+    }
+
+    /**
+     * 返回factory method带{@code annotationName}注解的bean name -> 注解属性, 按bean definition注册顺序排列
+     */
+    Map<String, AnnotationAttributes> getAnnotatedBeans(String annotationName) {
+        return getSnapshot().getAnnotatedBeans(annotationName);
+    }
+
+    /**
+     * 获取当前索引快照, bean definition增删或者覆盖则重建
+     */
+    private Snapshot getSnapshot() {
+        //先获取版本再遍历bean definition, 以免遗漏遍历过程中的变更
+        long resetCount = changeTracker.getResetCount();
+        int beanDefinitionCount = beanFactory.getBeanDefinitionCount();
+        Snapshot snapshot = this.snapshot;
+        if (Objects.isNull(snapshot) || snapshot.resetCount != resetCount || snapshot.beanDefinitionCount != beanDefinitionCount) {
+            snapshot = new Snapshot(resetCount, beanDefinitionCount, collectFactoryMethodMetadata());
+            this.snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 遍历bean definition, 收集bean name -> factory method元数据
+     */
+    private Map<String, MethodMetadata> collectFactoryMethodMetadata() {
+        Map<String, MethodMetadata> factoryMethodMetadatas = new LinkedHashMap<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition beanDefinition;
+            try {
+                beanDefinition = beanFactory.getBeanDefinition(beanName);
+            } catch (NoSuchBeanDefinitionException e) {
+                //遍历过程中被移除
+                continue;
+            }
+            if (!(beanDefinition instanceof AnnotatedBeanDefinition)) {
+                continue;
+            }
+
+            MethodMetadata factoryMethodMetadata = ((AnnotatedBeanDefinition) beanDefinition).getFactoryMethodMetadata();
+            if (Objects.nonNull(factoryMethodMetadata)) {
+                factoryMethodMetadatas.put(beanName, factoryMethodMetadata);
+            }
+        }
+        return factoryMethodMetadatas;
+    }
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 索引快照
+     */
+    private static final class Snapshot {
+        /** 构建快照时bean definition被移除或者覆盖的次数 */
+        private final long resetCount;
+        /** 构建快照时的bean definition数量 */
+        private final int beanDefinitionCount;
+        /** key -> bean name, value -> factory method元数据 */
+        private final Map<String, MethodMetadata> factoryMethodMetadatas;
+        /** key -> 注解类名, value -> factory method带该注解的bean name -> 注解属性 */
+        private final Map<String, Map<String, AnnotationAttributes>> annotatedBeans = new ConcurrentHashMap<>();
+
+        private Snapshot(long resetCount, int beanDefinitionCount, Map<String, MethodMetadata> factoryMethodMetadatas) {
+            this.resetCount = resetCount;
+            this.beanDefinitionCount = beanDefinitionCount;
+            this.factoryMethodMetadatas = factoryMethodMetadatas;
+        }
+
+        private Map<String, AnnotationAttributes> getAnnotatedBeans(String annotationName) {
+            return annotatedBeans.computeIfAbsent(annotationName, this::buildAnnotatedBeans);
+        }
+
+        private Map<String, AnnotationAttributes> buildAnnotatedBeans(String annotationName) {
+            Map<String, AnnotationAttributes> annotatedBeans = new LinkedHashMap<>();
+            for (Map.Entry<String, MethodMetadata> entry : factoryMethodMetadatas.entrySet()) {
+                Map<String, Object> annoAttrsMap = entry.getValue().getAnnotationAttributes(annotationName);
+                if (Objects.nonNull(annoAttrsMap)) {
+                    annotatedBeans.put(entry.getKey(), new ImmutableAnnotationAttributes(AnnotationAttributes.fromMap(annoAttrsMap)));
+                }
+            }
+            return annotatedBeans.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(annotatedBeans);
+        }
+    }
+}
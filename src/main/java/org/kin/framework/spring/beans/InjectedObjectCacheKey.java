@@ -0,0 +1,74 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.util.Assert;
+
+/**
+ * 被注入对象缓存key, 由{@link AbstractAnnotationBeanPostProcessor#buildInjectedObjectCacheKey}构建的key和被注入对象类型组成
+ * 构建时预先计算hash, 同一注入点可复用同一实例
+ * 批量获取的被注入对象(注入集合或者map)以集合元素类型作为被注入对象类型, 并以{@link #multiple}与单个被注入对象区分
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class InjectedObjectCacheKey {
+    /** {@link AbstractAnnotationBeanPostProcessor#buildInjectedObjectCacheKey}构建的key */
+    private final String key;
+    /** 被注入对象类型, 批量获取则为集合元素类型或者map value类型 */
+    private final Class<?> injectedType;
+    /** 是否是批量获取的被注入对象 */
+    private final boolean multiple;
+    /** 预先计算的hash */
+    private final int hash;
+
+    public InjectedObjectCacheKey(String key, Class<?> injectedType) {
+        this(key, injectedType, false);
+    }
+
+    public InjectedObjectCacheKey(String key, Class<?> injectedType, boolean multiple) {
+        Assert.notNull(key, "injected object cache key must not be null");
+        Assert.notNull(injectedType, "injected type must not be null");
+        this.key = key;
+        this.injectedType = injectedType;
+        this.multiple = multiple;
+        this.hash = 31 * (31 * key.hashCode() + injectedType.hashCode()) + Boolean.hashCode(multiple);
+    }
+
+    //getter
+    public String getKey() {
+        return key;
+    }
+
+    public Class<?> getInjectedType() {
+        return injectedType;
+    }
+
+    public boolean isMultiple() {
+        return multiple;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InjectedObjectCacheKey)) {
+            return false;
+        }
+        InjectedObjectCacheKey that = (InjectedObjectCacheKey) o;
+        return hash == that.hash && multiple == that.multiple && key.equals(that.key) && injectedType == that.injectedType;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "InjectedObjectCacheKey{" +
+                "key='" + key + '\'' +
+                ", injectedType=" + injectedType.getName() +
+                ", multiple=" + multiple +
+                '}';
+    }
+}
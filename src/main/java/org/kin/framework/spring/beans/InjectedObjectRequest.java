@@ -0,0 +1,63 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.core.annotation.AnnotationAttributes;
+
+/**
+ * 批量获取被注入对象时的单个请求, 同一{@link InjectedObjectCacheKey}仅会有一个请求
+ * 批量获取发生在bean实例化前, 故不包含bean实例, 且{@link #getBeanName()}仅为首个请求该被注入对象的bean
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ * @see AbstractAnnotationBeanPostProcessor#doBatchGetInjectedBeans
+ */
+public final class InjectedObjectRequest {
+    /** 注解属性 */
+    private final AnnotationAttributes attributes;
+    /** 首个请求该被注入对象的bean name */
+    private final String beanName;
+    /** 被注入对象类型 */
+    private final Class<?> injectedType;
+    /** 注入点 */
+    private final InjectionMetadata.InjectedElement injectedElement;
+    /** 被注入对象缓存key */
+    private final InjectedObjectCacheKey cacheKey;
+
+    InjectedObjectRequest(AnnotationAttributes attributes, String beanName, Class<?> injectedType,
+                          InjectionMetadata.InjectedElement injectedElement, InjectedObjectCacheKey cacheKey) {
+        this.attributes = attributes;
+        this.beanName = beanName;
+        this.injectedType = injectedType;
+        this.injectedElement = injectedElement;
+        this.cacheKey = cacheKey;
+    }
+
+    //getter
+    public AnnotationAttributes getAttributes() {
+        return attributes;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Class<?> getInjectedType() {
+        return injectedType;
+    }
+
+    public InjectionMetadata.InjectedElement getInjectedElement() {
+        return injectedElement;
+    }
+
+    public InjectedObjectCacheKey getCacheKey() {
+        return cacheKey;
+    }
+
+    @Override
+    public String toString() {
+        return "InjectedObjectRequest{" +
+                "beanName='" + beanName + '\'' +
+                ", cacheKey=" + cacheKey +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package org.kin.framework.spring.beans;
+
+import org.kin.framework.spring.BoundedParallelRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ApplicationContextEvent;
+
+/**
+ * {@link AbstractAnnotationBeanPostProcessor}预热被注入对象结束后发布的事件, 无论预热成功, 失败或者超时
+ * 可用于readiness探针, 收到该事件后才认为服务可用
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class InjectedObjectsWarmedUpEvent extends ApplicationContextEvent {
+    private static final long serialVersionUID = -2873460829641873553L;
+
+    /** 预热被注入对象的processor */
+    private final transient AbstractAnnotationBeanPostProcessor processor;
+    /** 预热执行报告 */
+    private final transient BoundedParallelRunner.Report report;
+
+    public InjectedObjectsWarmedUpEvent(ApplicationContext source, AbstractAnnotationBeanPostProcessor processor,
+                                        BoundedParallelRunner.Report report) {
+        super(source);
+        this.processor = processor;
+        this.report = report;
+    }
+
+    //getter
+    public AbstractAnnotationBeanPostProcessor getProcessor() {
+        return processor;
+    }
+
+    public BoundedParallelRunner.Report getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,186 @@
+package org.kin.framework.spring.beans;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 在processor处理首个bean前, 解析所有bean definition的bean class, 并利用fork-join pool并发构建{@link AbstractAnnotationBeanPostProcessor}的注入元数据,
+ * 使得容器refresh过程中仅需命中缓存. 若processor支持批量获取被注入对象, 则随后批量预获取所有非lazy singleton bean的被注入对象
+ * <p>
+ * 需要手动注册为bean才生效, 比如:
+ * <pre>
+ * &#64;Bean
+ * public static InjectionMetadataPreWarmer injectionMetadataPreWarmer() {
+ *     return new InjectionMetadataPreWarmer(8);
+ * }
+ * </pre>
+ * 预热由processor完成初始化后处理首个bean时触发, 仅触发一次, 此时所有bean factory post processor均已执行, bean definition不会再被修改.
+ * 但在此之前实例化的bean(比如其他bean post processor及其依赖的bean)不会被预热, 其被注入对象在注入时逐个获取.
+ * 本类不会主动实例化processor, 以免processor及其依赖的bean错过其他bean post processor的处理
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class InjectionMetadataPreWarmer implements BeanFactoryPostProcessor {
+    private static final Logger log = LoggerFactory.getLogger(InjectionMetadataPreWarmer.class);
+
+    /** 并发数 */
+    private final int parallelism;
+    /** key -> bean class, value -> 该class的首个bean name, 首次预热时解析, 需持有自身锁访问 */
+    @Nullable
+    private Map<Class<?>, String> beanClasses;
+    /** key -> 非lazy singleton bean name, value -> bean class, 首次预热时解析 */
+    @Nullable
+    private Map<String, Class<?>> singletonBeanClasses;
+
+    public InjectionMetadataPreWarmer() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public InjectionMetadataPreWarmer(int parallelism) {
+        Assert.isTrue(parallelism > 0, "parallelism must be greater than 0");
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void postProcessBeanFactory(@Nonnull ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        //实现bean factory post processor仅为了在processor实例化前完成本类实例化, 实际预热由processor处理首个bean时触发
+    }
+
+    /**
+     * 若{@code beanFactory}注册了{@link InjectionMetadataPreWarmer}, 则为{@code processor}预热注入元数据以及批量预获取被注入对象
+     * 仅使用已实例化的{@link InjectionMetadataPreWarmer}, 不会实例化任何bean
+     */
+    static void prewarm(ConfigurableListableBeanFactory beanFactory, AbstractAnnotationBeanPostProcessor processor) {
+        for (String preWarmerName : beanFactory.getBeanNamesForType(InjectionMetadataPreWarmer.class, false, false)) {
+            Object preWarmer = beanFactory.getSingleton(preWarmerName);
+            if (preWarmer instanceof InjectionMetadataPreWarmer) {
+                ((InjectionMetadataPreWarmer) preWarmer).prewarm0(beanFactory, processor);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 为{@code processor}预热注入元数据以及批量预获取被注入对象
+     */
+    private void prewarm0(ConfigurableListableBeanFactory beanFactory, AbstractAnnotationBeanPostProcessor processor) {
+        long startNanos = System.nanoTime();
+        Map<Class<?>, String> beanClasses;
+        Map<String, Class<?>> singletonBeanClasses;
+        synchronized (this) {
+            if (Objects.isNull(this.beanClasses)) {
+                this.singletonBeanClasses = new LinkedHashMap<>();
+                this.beanClasses = resolveBeanClasses(beanFactory, this.singletonBeanClasses);
+            }
+            beanClasses = this.beanClasses;
+            singletonBeanClasses = this.singletonBeanClasses;
+        }
+        long resolvedNanos = System.nanoTime();
+
+        AtomicLong buildNanos = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> beanClasses.entrySet().parallelStream().forEach(entry -> {
+                Class<?> beanClass = entry.getKey();
+                try {
+                    buildNanos.addAndGet(processor.prewarmInjectionMetadata(beanClass, entry.getValue()));
+                } catch (Throwable e) {
+                    //交给bean实例化时抛出
+                    if (log.isDebugEnabled()) {
+                        log.debug("pre-warm injection metadata of " + beanClass.getName() + " fail", e);
+                    }
+                }
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("pre-warm injection metadata fail", e.getCause());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (log.isInfoEnabled()) {
+            long endNanos = System.nanoTime();
+            log.info(String.format("pre-warmed injection metadata of %d bean classes for %s with parallelism %d, " +
+                            "resolve classes %dms, build %dms (serial build %dms)",
+                    beanClasses.size(), processor.getClass().getName(), parallelism,
+                    TimeUnit.NANOSECONDS.toMillis(resolvedNanos - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(endNanos - resolvedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(buildNanos.get())));
+        }
+
+        processor.prefetchInjectedObjects(singletonBeanClasses);
+    }
+
+    /**
+     * 解析所有bean definition的bean class, 不会实例化bean
+     *
+     * @param singletonBeanClasses 用于收集非lazy singleton bean的bean class, 即容器refresh时会实例化的bean
+     */
+    private Map<Class<?>, String> resolveBeanClasses(ConfigurableListableBeanFactory beanFactory, Map<String, Class<?>> singletonBeanClasses) {
+        String[] beanNames = beanFactory.getBeanDefinitionNames();
+        Map<Class<?>, String> beanClasses = new LinkedHashMap<>(beanNames.length);
+        for (String beanName : beanNames) {
+            Class<?> beanClass = resolveBeanClass(beanFactory, beanName);
+            if (Objects.isNull(beanClass)) {
+                continue;
+            }
+            beanClass = ClassUtils.getUserClass(beanClass);
+            beanClasses.putIfAbsent(beanClass, beanName);
+            BeanDefinition beanDefinition = beanFactory.getMergedBeanDefinition(beanName);
+            if (beanDefinition.isSingleton() && !beanDefinition.isLazyInit()) {
+                singletonBeanClasses.put(beanName, beanClass);
+            }
+        }
+        return beanClasses;
+    }
+
+    /**
+     * 解析bean class, 解析失败则返回null, 交给bean实例化时处理
+     */
+    @Nullable
+    private Class<?> resolveBeanClass(ConfigurableListableBeanFactory beanFactory, String beanName) {
+        try {
+            BeanDefinition beanDefinition = beanFactory.getMergedBeanDefinition(beanName);
+            if (beanDefinition.isAbstract()) {
+                return null;
+            }
+            if (Objects.isNull(beanDefinition.getFactoryMethodName())) {
+                if (beanDefinition instanceof AbstractBeanDefinition && ((AbstractBeanDefinition) beanDefinition).hasBeanClass()) {
+                    return ((AbstractBeanDefinition) beanDefinition).getBeanClass();
+                }
+                String beanClassName = beanDefinition.getBeanClassName();
+                if (Objects.nonNull(beanClassName)) {
+                    return ClassUtils.forName(beanClassName, beanFactory.getBeanClassLoader());
+                }
+            }
+            //factory method, 不允许初始化FactoryBean
+            return beanFactory.getType(beanName, false);
+        } catch (Throwable e) {
+            if (log.isDebugEnabled()) {
+                log.debug("unable to resolve class of bean '" + beanName + "'", e);
+            }
+            return null;
+        }
+    }
+}
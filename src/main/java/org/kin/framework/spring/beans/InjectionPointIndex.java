@@ -0,0 +1,194 @@
+package org.kin.framework.spring.beans;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * 编译期生成的注入点索引, 由kin-framework-spring-processor模块的InjectionPointIndexProcessor生成
+ * 一个class loader下可能存在多个索引文件(每个jar一个), 每个索引文件记录了编译时指定的注解, 以及参与编译的每个class声明的被注解成员
+ * 运行时, class被索引覆盖, 则仅检查索引中列出的成员, 否则回退到反射扫描
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+final class InjectionPointIndex {
+    private static final Logger log = LoggerFactory.getLogger(InjectionPointIndex.class);
+    /** 索引文件位置 */
+    static final String INDEX_LOCATION = "META-INF/kin-spring-injection.index";
+    /** 索引中记录注解的key */
+    private static final String ANNOTATIONS_KEY = "@annotations";
+    /** 字段前缀 */
+    private static final String FIELD_PREFIX = "f:";
+    /** 方法前缀 */
+    private static final String METHOD_PREFIX = "m:";
+    /** 不存在索引文件时使用 */
+    private static final InjectionPointIndex EMPTY = new InjectionPointIndex(Collections.emptyList());
+    /**
+     * key -> class loader, 弱引用, 以免阻止class loader回收, 需持有自身锁访问
+     * value强引用且仅包含类名以及成员名, 不引用class loader, 故仅在class loader被回收时移除, 而不会在每次gc时丢失而重新读取索引文件
+     */
+    private static final Map<ClassLoader, InjectionPointIndex> CACHE = new WeakHashMap<>(8);
+
+    /** 该class loader下所有索引文件 */
+    private final List<IndexFile> files;
+
+    private InjectionPointIndex(List<IndexFile> files) {
+        this.files = files;
+    }
+
+    /**
+     * 加载{@code classLoader}下的所有索引文件
+     */
+    static InjectionPointIndex load(@Nullable ClassLoader classLoader) {
+        if (Objects.isNull(classLoader)) {
+            return EMPTY;
+        }
+        InjectionPointIndex index;
+        synchronized (CACHE) {
+            index = CACHE.get(classLoader);
+        }
+        if (Objects.nonNull(index)) {
+            return index;
+        }
+        //在锁外读取索引文件, 以免阻塞其他class loader, 并发时可能重复读取, 以先缓存的为准
+        index = doLoad(classLoader);
+        synchronized (CACHE) {
+            InjectionPointIndex old = CACHE.putIfAbsent(classLoader, index);
+            return Objects.nonNull(old) ? old : index;
+        }
+    }
+
+    private static InjectionPointIndex doLoad(ClassLoader classLoader) {
+        List<IndexFile> files = new ArrayList<>(2);
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(url));
+                files.add(new IndexFile(properties));
+                if (log.isDebugEnabled()) {
+                    log.debug("load injection point index from " + url + ", " + (properties.size() - 1) + " classes");
+                }
+            }
+        } catch (IOException e) {
+            //索引只是优化, 加载失败则回退到反射扫描
+            if (log.isWarnEnabled()) {
+                log.warn("unable to load injection point index from location [" + INDEX_LOCATION + "], fall back to scanning", e);
+            }
+            return EMPTY;
+        }
+        return files.isEmpty() ? EMPTY : new InjectionPointIndex(files);
+    }
+
+    /**
+     * 获取{@code clazz}声明的被注解成员
+     *
+     * @param clazz           class
+     * @param annotationTypes 需处理的注解
+     * @return 被注解成员, 如果{@code clazz}没有被索引, 或者索引没有覆盖所有{@code annotationTypes}, 则返回null
+     */
+    @Nullable
+    IndexedMembers getMembers(Class<?> clazz, Collection<Class<? extends Annotation>> annotationTypes) {
+        if (files.isEmpty()) {
+            return null;
+        }
+        String className = clazz.getName();
+        for (IndexFile file : files) {
+            IndexedMembers members = file.members.get(className);
+            if (Objects.nonNull(members) && file.covers(annotationTypes)) {
+                return members;
+            }
+        }
+        return null;
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 单个索引文件
+     */
+    private static final class IndexFile {
+        /** 编译时指定的注解 */
+        private final Set<String> annotationTypes;
+        /** key -> class name */
+        private final Map<String, IndexedMembers> members;
+
+        IndexFile(Properties properties) {
+            this.annotationTypes = StringUtils.commaDelimitedListToSet(properties.getProperty(ANNOTATIONS_KEY, ""));
+            this.members = new HashMap<>(properties.size());
+            for (String key : properties.stringPropertyNames()) {
+                if (ANNOTATIONS_KEY.equals(key)) {
+                    continue;
+                }
+                members.put(key, IndexedMembers.parse(properties.getProperty(key)));
+            }
+        }
+
+        /**
+         * 索引是否覆盖了所有{@code annotationTypes}
+         */
+        boolean covers(Collection<Class<? extends Annotation>> annotationTypes) {
+            for (Class<? extends Annotation> annotationType : annotationTypes) {
+                if (!this.annotationTypes.contains(annotationType.getName())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * class声明的被注解成员
+     */
+    static final class IndexedMembers {
+        /** 没有被注解成员 */
+        private static final IndexedMembers NONE = new IndexedMembers(Collections.emptySet(), Collections.emptySet());
+
+        /** 被注解字段名 */
+        private final Set<String> fields;
+        /** 被注解方法名 */
+        private final Set<String> methods;
+
+        private IndexedMembers(Set<String> fields, Set<String> methods) {
+            this.fields = fields;
+            this.methods = methods;
+        }
+
+        static IndexedMembers parse(String value) {
+            if (!StringUtils.hasText(value)) {
+                return NONE;
+            }
+            Set<String> fields = new HashSet<>(4);
+            Set<String> methods = new HashSet<>(4);
+            for (String member : StringUtils.commaDelimitedListToStringArray(value)) {
+                if (member.startsWith(FIELD_PREFIX)) {
+                    fields.add(member.substring(FIELD_PREFIX.length()));
+                } else if (member.startsWith(METHOD_PREFIX)) {
+                    methods.add(member.substring(METHOD_PREFIX.length()));
+                }
+            }
+            return new IndexedMembers(fields, methods);
+        }
+
+        boolean isEmpty() {
+            return fields.isEmpty() && methods.isEmpty();
+        }
+
+        boolean containsField(String name) {
+            return fields.contains(name);
+        }
+
+        boolean containsMethod(String name) {
+            return methods.contains(name);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 注入点赋值器, 负责把被注入对象设置到bean字段或者以此为参数调用bean方法
+ * 优先编译成{@link MethodHandle}, 无法编译(比如模块访问限制)时, 回退到反射
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@FunctionalInterface
+interface MemberInjector {
+    /** 统一后的{@link MethodHandle}签名, (bean, injectedObject) -> void */
+    MethodType INJECT_METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 注入
+     *
+     * @param bean           Current bean that will be injected
+     * @param injectedObject 被注入对象
+     */
+    void inject(Object bean, Object injectedObject) throws Throwable;
+
+    /**
+     * 编译字段注入器
+     */
+    static MemberInjector compile(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        try {
+            MethodHandle setter = MethodHandles.lookup().unreflectSetter(field).asType(INJECT_METHOD_TYPE);
+            //需用语句块, 否则invokeExact的签名会被推断为(Object,Object)Object
+            return (bean, injectedObject) -> {
+                setter.invokeExact(bean, injectedObject);
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            //fallback
+            return field::set;
+        }
+    }
+
+    /**
+     * 编译方法注入器
+     */
+    static MemberInjector compile(Method method) {
+        ReflectionUtils.makeAccessible(method);
+        if (method.getParameterCount() == 1) {
+            try {
+                MethodHandle invoker = MethodHandles.lookup().unreflect(method).asType(INJECT_METHOD_TYPE);
+                return (bean, injectedObject) -> {
+                    invoker.invokeExact(bean, injectedObject);
+                };
+            } catch (IllegalAccessException | RuntimeException e) {
+                //fallback
+            }
+        }
+        return method::invoke;
+    }
+}
@@ -0,0 +1,19 @@
+package org.kin.framework.spring.beans;
+
+/**
+ * 需预热的被注入对象, 比如预先建立连接, 触发JIT编译或者填充本地缓存, 以免context refresh后的首批请求变慢
+ * 开启{@link AbstractAnnotationBeanPostProcessor#setWarmUp(boolean)}后, context refresh完成时并发调用
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ * @see AbstractAnnotationBeanPostProcessor#warmUpInjectedObject
+ */
+@FunctionalInterface
+public interface WarmUpable {
+    /**
+     * 预热, 可能被中断
+     *
+     * @throws Exception 预热失败, 仅记录日志, 不影响context
+     */
+    void warmUp() throws Exception;
+}
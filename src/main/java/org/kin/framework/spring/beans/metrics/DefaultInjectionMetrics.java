@@ -0,0 +1,287 @@
+package org.kin.framework.spring.beans.metrics;
+
+import org.kin.framework.spring.beans.AbstractAnnotationBeanPostProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于内存计数的{@link InjectionMetrics}默认实现, 可注册为JMX MBean
+ * <pre>{@code
+ * DefaultInjectionMetrics metrics = new DefaultInjectionMetrics(processor);
+ * metrics.registerMBean();
+ * processor.setMetrics(metrics);
+ * }</pre>
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class DefaultInjectionMetrics implements InjectionMetrics, InjectionMetricsMXBean {
+    private static final Logger log = LoggerFactory.getLogger(DefaultInjectionMetrics.class);
+    /** JMX domain */
+    public static final String JMX_DOMAIN = "org.kin.framework.spring";
+    /** 仅记录注入元数据构建耗时最长的class数量, 以免bean class数量巨大时无限增长 */
+    public static final int SLOWEST_METADATA_BUILDS = 100;
+
+    /** 关联的processor, 用于获取缓存大小 */
+    private final AbstractAnnotationBeanPostProcessor processor;
+    private final LongAdder metadataCacheHits = new LongAdder();
+    private final LongAdder metadataCacheMisses = new LongAdder();
+    private final LongAdder metadataBuildTotalNanos = new LongAdder();
+    /** key -> bean class name, value -> 注入元数据构建耗时(纳秒), 仅保留最慢的{@link #SLOWEST_METADATA_BUILDS}个, 需持有自身锁访问 */
+    private final Map<String, Long> metadataBuildNanos = new HashMap<>();
+    /** {@link #metadataBuildNanos}已满时其中的最短耗时, 不超过该值的构建耗时无需记录, 需持有{@link #metadataBuildNanos}锁访问 */
+    private long minRecordedMetadataBuildNanos;
+    private final LongAdder injectedObjectCacheHits = new LongAdder();
+    private final LongAdder injectedObjectCacheMisses = new LongAdder();
+    private final LongAdder injectedObjectResolveFailures = new LongAdder();
+    /** key -> 被注入对象类型, value -> 获取被注入对象耗时直方图 */
+    private final Map<String, LatencyHistogram> injectedObjectResolveLatencies = new ConcurrentHashMap<>();
+    private final LongAdder injectedObjectBatches = new LongAdder();
+    private final LongAdder batchedInjectedObjects = new LongAdder();
+    /** 批量获取被注入对象耗时直方图 */
+    private volatile LatencyHistogram injectedObjectBatchLatency = new LatencyHistogram();
+    /** key -> prototype bean class name, value -> 注入次数 */
+    private final Map<String, LongAdder> prototypeInjectionCounts = new ConcurrentHashMap<>();
+    /** 已注册的MBean name */
+    private volatile ObjectName objectName;
+
+    public DefaultInjectionMetrics(AbstractAnnotationBeanPostProcessor processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * 注册JMX MBean, 以processor class name和identity hash区分同一jvm内的多个processor
+     */
+    public synchronized void registerMBean() {
+        if (Objects.nonNull(objectName)) {
+            return;
+        }
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=InjectionMetrics,name=" +
+                    ObjectName.quote(processor.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(processor))));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+        } catch (JMException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("register injection metrics mbean fail", e);
+            }
+        }
+    }
+
+    /**
+     * 注销JMX MBean
+     */
+    public synchronized void unregisterMBean() {
+        if (Objects.isNull(objectName)) {
+            return;
+        }
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("unregister injection metrics mbean fail", e);
+            }
+        }
+        objectName = null;
+    }
+
+    @Override
+    public void onMetadataCacheHit(Class<?> beanClass) {
+        metadataCacheHits.increment();
+    }
+
+    @Override
+    public void onMetadataCacheMiss(Class<?> beanClass) {
+        metadataCacheMisses.increment();
+    }
+
+    @Override
+    public void onMetadataBuilt(Class<?> beanClass, long costNanos, int injectionPoints) {
+        metadataBuildTotalNanos.add(costNanos);
+        synchronized (metadataBuildNanos) {
+            if (metadataBuildNanos.size() >= SLOWEST_METADATA_BUILDS && costNanos <= minRecordedMetadataBuildNanos) {
+                return;
+            }
+            metadataBuildNanos.merge(beanClass.getName(), costNanos, Math::max);
+            if (metadataBuildNanos.size() > SLOWEST_METADATA_BUILDS) {
+                //移除最快的
+                String fastest = null;
+                long fastestNanos = Long.MAX_VALUE;
+                for (Map.Entry<String, Long> entry : metadataBuildNanos.entrySet()) {
+                    if (entry.getValue() < fastestNanos) {
+                        fastest = entry.getKey();
+                        fastestNanos = entry.getValue();
+                    }
+                }
+                metadataBuildNanos.remove(fastest);
+            }
+            if (metadataBuildNanos.size() >= SLOWEST_METADATA_BUILDS) {
+                minRecordedMetadataBuildNanos = Collections.min(metadataBuildNanos.values());
+            }
+        }
+    }
+
+    @Override
+    public void onInjectedObjectCacheHit(Class<?> injectedType) {
+        injectedObjectCacheHits.increment();
+    }
+
+    @Override
+    public void onInjectedObjectCacheMiss(Class<?> injectedType) {
+        injectedObjectCacheMisses.increment();
+    }
+
+    @Override
+    public void onInjectedObjectResolved(Class<?> injectedType, long costNanos, boolean success) {
+        if (!success) {
+            injectedObjectResolveFailures.increment();
+        }
+        injectedObjectResolveLatencies.computeIfAbsent(injectedType.getName(), k -> new LatencyHistogram()).record(costNanos);
+    }
+
+    @Override
+    public void onInjectedObjectBatchResolved(int batchSize, int resolved, long costNanos, boolean success) {
+        injectedObjectBatches.increment();
+        batchedInjectedObjects.add(resolved);
+        injectedObjectBatchLatency.record(costNanos);
+    }
+
+    @Override
+    public void onPrototypeInjection(Class<?> beanClass, int injectionPoints) {
+        prototypeInjectionCounts.computeIfAbsent(beanClass.getName(), k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void close() {
+        unregisterMBean();
+    }
+
+    @Override
+    public long getMetadataCacheHits() {
+        return metadataCacheHits.sum();
+    }
+
+    @Override
+    public long getMetadataCacheMisses() {
+        return metadataCacheMisses.sum();
+    }
+
+    @Override
+    public int getMetadataCacheSize() {
+        return processor.getInjectionMetadataCacheSize();
+    }
+
+    @Override
+    public long getMetadataEvictions() {
+        return processor.getMetadataEvictionCount();
+    }
+
+    @Override
+    public long getSkippedBeans() {
+        return processor.getSkippedBeanCount();
+    }
+
+    @Override
+    public long getMetadataBuildTotalNanos() {
+        return metadataBuildTotalNanos.sum();
+    }
+
+    @Override
+    public Map<String, Long> getMetadataBuildNanos() {
+        synchronized (metadataBuildNanos) {
+            return Collections.unmodifiableMap(new TreeMap<>(metadataBuildNanos));
+        }
+    }
+
+    @Override
+    public long getInjectedObjectCacheHits() {
+        return injectedObjectCacheHits.sum();
+    }
+
+    @Override
+    public long getInjectedObjectCacheMisses() {
+        return injectedObjectCacheMisses.sum();
+    }
+
+    @Override
+    public int getInjectedObjectCacheSize() {
+        return processor.getInjectedObjectCacheSize();
+    }
+
+    @Override
+    public long getInjectedObjectEvictions() {
+        return processor.getInjectedObjectEvictionCount();
+    }
+
+    @Override
+    public long getInjectedObjectResolveFailures() {
+        return injectedObjectResolveFailures.sum();
+    }
+
+    @Override
+    public Map<String, LatencyHistogram.Snapshot> getInjectedObjectResolveLatencies() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : injectedObjectResolveLatencies.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    @Override
+    public long getInjectedObjectBatches() {
+        return injectedObjectBatches.sum();
+    }
+
+    @Override
+    public long getBatchedInjectedObjects() {
+        return batchedInjectedObjects.sum();
+    }
+
+    @Override
+    public LatencyHistogram.Snapshot getInjectedObjectBatchLatency() {
+        return injectedObjectBatchLatency.snapshot();
+    }
+
+    @Override
+    public Map<String, Long> getPrototypeInjectionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : prototypeInjectionCounts.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public void reset() {
+        metadataCacheHits.reset();
+        metadataCacheMisses.reset();
+        metadataBuildTotalNanos.reset();
+        synchronized (metadataBuildNanos) {
+            metadataBuildNanos.clear();
+            minRecordedMetadataBuildNanos = 0;
+        }
+        injectedObjectCacheHits.reset();
+        injectedObjectCacheMisses.reset();
+        injectedObjectResolveFailures.reset();
+        injectedObjectResolveLatencies.clear();
+        injectedObjectBatches.reset();
+        batchedInjectedObjects.reset();
+        injectedObjectBatchLatency = new LatencyHistogram();
+        prototypeInjectionCounts.clear();
+    }
+}
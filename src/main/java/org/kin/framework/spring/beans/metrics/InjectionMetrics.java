@@ -0,0 +1,108 @@
+package org.kin.framework.spring.beans.metrics;
+
+import org.kin.framework.spring.beans.AbstractAnnotationBeanPostProcessor;
+
+/**
+ * {@link AbstractAnnotationBeanPostProcessor}注入流程metrics spi
+ * <p>
+ * 所有回调默认空实现, 实现类仅需重写关注的回调. {@link #isEnabled()}返回false时, processor不会计时也不会回调
+ * 回调可能被多线程并发调用, 实现类需保证线程安全且足够轻量
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ * @see DefaultInjectionMetrics
+ */
+public interface InjectionMetrics {
+    /** 默认实现, 不收集任何metrics */
+    InjectionMetrics NOOP = new InjectionMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * @return 是否收集metrics
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * 注入元数据缓存命中
+     *
+     * @param beanClass bean class
+     */
+    default void onMetadataCacheHit(Class<?> beanClass) {
+    }
+
+    /**
+     * 注入元数据缓存未命中
+     *
+     * @param beanClass bean class
+     */
+    default void onMetadataCacheMiss(Class<?> beanClass) {
+    }
+
+    /**
+     * 注入元数据构建完成
+     *
+     * @param beanClass       bean class
+     * @param costNanos       构建耗时(纳秒)
+     * @param injectionPoints 注入点数量
+     */
+    default void onMetadataBuilt(Class<?> beanClass, long costNanos, int injectionPoints) {
+    }
+
+    /**
+     * 被注入对象缓存命中
+     *
+     * @param injectedType 被注入对象类型
+     */
+    default void onInjectedObjectCacheHit(Class<?> injectedType) {
+    }
+
+    /**
+     * 被注入对象缓存未命中
+     *
+     * @param injectedType 被注入对象类型
+     */
+    default void onInjectedObjectCacheMiss(Class<?> injectedType) {
+    }
+
+    /**
+     * 调用{@code doGetInjectedBean}或者{@code doGetInjectedBeanAsync}获取被注入对象完成
+     *
+     * @param injectedType 被注入对象类型
+     * @param costNanos    耗时(纳秒)
+     * @param success      是否成功
+     */
+    default void onInjectedObjectResolved(Class<?> injectedType, long costNanos, boolean success) {
+    }
+
+    /**
+     * 调用{@code doBatchGetInjectedBeans}批量获取被注入对象完成
+     *
+     * @param batchSize 请求数
+     * @param resolved  成功获取的被注入对象数量
+     * @param costNanos 耗时(纳秒)
+     * @param success   是否成功
+     */
+    default void onInjectedObjectBatchResolved(int batchSize, int resolved, long costNanos, boolean success) {
+    }
+
+    /**
+     * prototype bean注入
+     *
+     * @param beanClass       bean class
+     * @param injectionPoints 注入点数量
+     */
+    default void onPrototypeInjection(Class<?> beanClass, int injectionPoints) {
+    }
+
+    /**
+     * processor销毁时调用, 释放metrics占用的资源
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,101 @@
+package org.kin.framework.spring.beans.metrics;
+
+import java.util.Map;
+
+/**
+ * 注入流程metrics JMX接口
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public interface InjectionMetricsMXBean {
+    /**
+     * @return 注入元数据缓存命中次数
+     */
+    long getMetadataCacheHits();
+
+    /**
+     * @return 注入元数据缓存未命中次数
+     */
+    long getMetadataCacheMisses();
+
+    /**
+     * @return 注入元数据缓存大小
+     */
+    int getMetadataCacheSize();
+
+    /**
+     * @return 被释放的注入元数据数量
+     */
+    long getMetadataEvictions();
+
+    /**
+     * @return 被过滤器跳过, 未反射扫描注入点的bean数量
+     */
+    long getSkippedBeans();
+
+    /**
+     * @return 注入元数据总构建耗时(纳秒)
+     */
+    long getMetadataBuildTotalNanos();
+
+    /**
+     * @return bean class name -> 注入元数据构建耗时(纳秒), 仅包含构建耗时最长的{@link DefaultInjectionMetrics#SLOWEST_METADATA_BUILDS}个class
+     */
+    Map<String, Long> getMetadataBuildNanos();
+
+    /**
+     * @return 被注入对象缓存命中次数
+     */
+    long getInjectedObjectCacheHits();
+
+    /**
+     * @return 被注入对象缓存未命中次数
+     */
+    long getInjectedObjectCacheMisses();
+
+    /**
+     * @return 被注入对象缓存大小
+     */
+    int getInjectedObjectCacheSize();
+
+    /**
+     * @return 被淘汰或者释放的被注入对象数量
+     */
+    long getInjectedObjectEvictions();
+
+    /**
+     * @return 获取被注入对象失败次数
+     */
+    long getInjectedObjectResolveFailures();
+
+    /**
+     * @return 被注入对象类型 -> 获取被注入对象耗时直方图
+     */
+    Map<String, LatencyHistogram.Snapshot> getInjectedObjectResolveLatencies();
+
+    /**
+     * @return 批量获取被注入对象次数
+     */
+    long getInjectedObjectBatches();
+
+    /**
+     * @return 批量获取的被注入对象数量
+     */
+    long getBatchedInjectedObjects();
+
+    /**
+     * @return 批量获取被注入对象耗时直方图
+     */
+    LatencyHistogram.Snapshot getInjectedObjectBatchLatency();
+
+    /**
+     * @return prototype bean class name -> 注入次数
+     */
+    Map<String, Long> getPrototypeInjectionCounts();
+
+    /**
+     * 重置所有计数
+     */
+    void reset();
+}
@@ -0,0 +1,124 @@
+package org.kin.framework.spring.beans.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 固定指数桶的耗时直方图, 无锁, 支持并发记录
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public final class LatencyHistogram {
+    /** 桶上界(纳秒), 最后一个桶无上界 */
+    private static final long[] BUCKET_UPPER_BOUNDS = {
+            TimeUnit.MICROSECONDS.toNanos(1),
+            TimeUnit.MICROSECONDS.toNanos(10),
+            TimeUnit.MICROSECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.SECONDS.toNanos(10),
+            Long.MAX_VALUE,
+    };
+
+    /** 每个桶的计数 */
+    private final LongAdder[] buckets = new LongAdder[BUCKET_UPPER_BOUNDS.length];
+    /** 总耗时(纳秒) */
+    private final LongAdder totalNanos = new LongAdder();
+    /** 最大耗时(纳秒) */
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时(纳秒)
+     */
+    public void record(long nanos) {
+        int i = 0;
+        while (nanos > BUCKET_UPPER_BOUNDS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * @return 当前快照
+     */
+    public Snapshot snapshot() {
+        long[] bucketCounts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            bucketCounts[i] = buckets[i].sum();
+            count += bucketCounts[i];
+        }
+        return new Snapshot(count, totalNanos.sum(), maxNanos.get(), bucketCounts);
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 直方图快照, 可作为JMX MXBean属性
+     */
+    public static final class Snapshot {
+        /** 记录次数 */
+        private final long count;
+        /** 总耗时(纳秒) */
+        private final long totalNanos;
+        /** 最大耗时(纳秒) */
+        private final long maxNanos;
+        /** 每个桶的计数 */
+        private final long[] bucketCounts;
+
+        private Snapshot(long count, long totalNanos, long maxNanos, long[] bucketCounts) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.bucketCounts = bucketCounts;
+        }
+
+        //getter
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count > 0 ? totalNanos / count : 0;
+        }
+
+        public long[] getBucketCounts() {
+            return bucketCounts.clone();
+        }
+
+        public long[] getBucketUpperBoundNanos() {
+            return BUCKET_UPPER_BOUNDS.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "count=" + count +
+                    ", meanNanos=" + getMeanNanos() +
+                    ", maxNanos=" + maxNanos +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.kin.framework.spring.condition;
+
+import org.kin.framework.spring.beans.BeanDefinitionChangeTracker;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * bean查找索引, 仅基于bean name, bean definition元数据以及已创建singleton实例判断bean是否存在, 不会触发bean初始化或者FactoryBean实例化
+ * <p>
+ * 查找结果按bean factory缓存于不可变版本的快照中, 版本变化则换用新快照, 以下情况版本变化:
+ * <ul>
+ *     <li>bean definition增删或者以同名bean definition覆盖, 由{@link BeanDefinitionChangeTracker}以O(1)感知</li>
+ *     <li>手动注册singleton, 即singleton数量变化</li>
+ *     <li>调用{@link #invalidate(ConfigurableListableBeanFactory)}, 比如直接修改已注册的bean definition的bean class</li>
+ * </ul>
+ * 查找结果仅写入查找前获取的快照, 故与bean definition变更并发时, 结果最多写入已过期的快照, 而不会污染新快照
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+final class BeanLookupIndex {
+    /**
+     * key -> bean factory, 软引用, 以免阻止bean factory回收.
+     * 不能使用弱引用, 因为entry仅被弱引用持有, 任意一次gc均会回收entry, 导致缓存失效
+     */
+    private static final Map<ConfigurableListableBeanFactory, BeanLookupIndex> INDEXES =
+            new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final BeanDefinitionChangeTracker changeTracker;
+    /** 当前快照 */
+    private volatile Snapshot snapshot;
+
+    private BeanLookupIndex(ConfigurableListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+        this.changeTracker = BeanDefinitionChangeTracker.of(beanFactory);
+    }
+
+    /**
+     * 获取{@code beanFactory}对应的bean查找索引
+     */
+    static BeanLookupIndex of(ConfigurableListableBeanFactory beanFactory) {
+        return INDEXES.computeIfAbsent(beanFactory, BeanLookupIndex::new);
+    }
+
+    /**
+     * 移除{@code beanFactory}对应的索引, 下次查找时重建
+     */
+    static void invalidate(ConfigurableListableBeanFactory beanFactory) {
+        INDEXES.remove(beanFactory);
+    }
+
+    /**
+     * 获取当前版本的快照, 版本变化则换用新快照
+     */
+    private Snapshot getSnapshot() {
+        //先获取版本再查找, 以免遗漏查找过程中的变更
+        long resetCount = changeTracker.getResetCount();
+        int beanDefinitionCount = beanFactory.getBeanDefinitionCount();
+        int singletonCount = beanFactory.getSingletonCount();
+        Snapshot snapshot = this.snapshot;
+        if (Objects.isNull(snapshot) || !snapshot.isVersion(resetCount, beanDefinitionCount, singletonCount)) {
+            snapshot = new Snapshot(resetCount, beanDefinitionCount, singletonCount);
+            this.snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 是否存在名为{@code beanName}的bean或者bean alias
+     */
+    boolean containsBean(String beanName) {
+        return beanFactory.containsBean(beanName);
+    }
+
+    /**
+     * 是否存在{@code type}类型的bean, 包括非singleton bean
+     */
+    boolean containsBeanOfType(Class<?> type) {
+        return getSnapshot().typeCache.computeIfAbsent(type, k -> beanFactory.getBeanNamesForType(k, true, false).length > 0);
+    }
+
+    /**
+     * 是否存在被{@code annotationType}注解的bean
+     */
+    boolean containsBeanWithAnnotation(Class<? extends Annotation> annotationType) {
+        return getSnapshot().annotationCache.computeIfAbsent(annotationType, this::scanBeanWithAnnotation);
+    }
+
+    /**
+     * 遍历bean definition元数据以及手动注册的singleton, 查找被{@code annotationType}注解的bean
+     */
+    private boolean scanBeanWithAnnotation(Class<? extends Annotation> annotationType) {
+        String annotationName = annotationType.getName();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+            if (bd.isAbstract()) {
+                continue;
+            }
+            if (bd instanceof AnnotatedBeanDefinition) {
+                AnnotatedBeanDefinition abd = (AnnotatedBeanDefinition) bd;
+                MethodMetadata factoryMethodMetadata = abd.getFactoryMethodMetadata();
+                if (Objects.nonNull(factoryMethodMetadata)) {
+                    if (factoryMethodMetadata.isAnnotated(annotationName)) {
+                        return true;
+                    }
+                } else if (abd.getMetadata().isAnnotated(annotationName)) {
+                    return true;
+                }
+            }
+
+            //不允许FactoryBean初始化
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (Objects.nonNull(beanType) && AnnotatedElementUtils.hasAnnotation(beanType, annotationType)) {
+                return true;
+            }
+        }
+
+        //手动注册的singleton
+        for (String singletonName : beanFactory.getSingletonNames()) {
+            if (beanFactory.containsBeanDefinition(singletonName)) {
+                continue;
+            }
+            Object singleton = beanFactory.getSingleton(singletonName);
+            if (Objects.nonNull(singleton) && AnnotatedElementUtils.hasAnnotation(singleton.getClass(), annotationType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //---------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 某一版本bean definition以及singleton的查找结果
+     */
+    private static final class Snapshot {
+        /** 创建快照时bean definition被移除或者覆盖的次数 */
+        private final long resetCount;
+        /** 创建快照时的bean definition数量 */
+        private final int beanDefinitionCount;
+        /** 创建快照时的singleton数量 */
+        private final int singletonCount;
+        /** key -> bean class, value -> 是否存在该类型的bean */
+        private final Map<Class<?>, Boolean> typeCache = new ConcurrentHashMap<>();
+        /** key -> 注解, value -> 是否存在被该注解标识的bean */
+        private final Map<Class<? extends Annotation>, Boolean> annotationCache = new ConcurrentHashMap<>();
+
+        private Snapshot(long resetCount, int beanDefinitionCount, int singletonCount) {
+            this.resetCount = resetCount;
+            this.beanDefinitionCount = beanDefinitionCount;
+            this.singletonCount = singletonCount;
+        }
+
+        private boolean isVersion(long resetCount, int beanDefinitionCount, int singletonCount) {
+            return this.resetCount == resetCount && this.beanDefinitionCount == beanDefinitionCount &&
+                    this.singletonCount == singletonCount;
+        }
+    }
+}
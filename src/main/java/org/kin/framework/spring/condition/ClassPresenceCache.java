@@ -0,0 +1,48 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类存在性缓存, 按class loader缓存类名探测结果, 同一class loader下每个类名仅探测一次,
+ * 避免大量条件判断重复加载类以及抛出{@link ClassNotFoundException}
+ * <p>
+ * 仅缓存类名及其探测结果, 不持有{@link Class}实例
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+final class ClassPresenceCache {
+    /**
+     * key -> class loader, 弱引用, 以免阻止class loader回收, value -> {key -> 类名, value -> 是否存在}, 需持有自身锁访问
+     * value强引用且不引用class loader, 故仅在class loader被回收时移除, 而不会在每次gc时丢失
+     */
+    private static final Map<ClassLoader, Map<String, Boolean>> CACHES = new WeakHashMap<>(16);
+
+    private ClassPresenceCache() {
+    }
+
+    /**
+     * {@code className}是否能被{@code classLoader}加载, 不会触发类初始化
+     *
+     * @param classLoader 为null则使用默认class loader
+     */
+    static boolean isPresent(String className, @Nullable ClassLoader classLoader) {
+        ClassLoader targetClassLoader = Objects.nonNull(classLoader) ? classLoader : ClassUtils.getDefaultClassLoader();
+        if (Objects.isNull(targetClassLoader)) {
+            //bootstrap class loader, 无法作为key
+            return ClassUtils.isPresent(className, null);
+        }
+        Map<String, Boolean> cache;
+        synchronized (CACHES) {
+            cache = CACHES.computeIfAbsent(targetClassLoader, k -> new ConcurrentHashMap<>());
+        }
+        //在锁外探测, 以免加载类时阻塞其他class loader的探测
+        return cache.computeIfAbsent(className, k -> ClassUtils.isPresent(k, targetClassLoader));
+    }
+}
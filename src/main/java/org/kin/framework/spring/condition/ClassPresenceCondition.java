@@ -0,0 +1,72 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * {@link ConditionOnClass}和{@link ConditionOnMissingClass}条件过滤
+ * 类存在性探测结果按class loader缓存, 见{@link ClassPresenceCache}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class ClassPresenceCondition implements Condition {
+    /** 条件判断的startup step name */
+    public static final String STARTUP_STEP = "kin.spring.condition.class";
+
+    @Override
+    public boolean matches(@Nonnull ConditionContext conditionContext,
+                           @Nonnull AnnotatedTypeMetadata annotatedTypeMetadata) {
+        ConfigurableListableBeanFactory beanFactory = conditionContext.getBeanFactory();
+        ApplicationStartup applicationStartup = Objects.nonNull(beanFactory) ? beanFactory.getApplicationStartup() : ApplicationStartup.DEFAULT;
+        StartupStep step = applicationStartup.start(STARTUP_STEP)
+                .tag("element", () -> ConditionUtils.describe(annotatedTypeMetadata));
+        try {
+            boolean matched = matches(conditionContext.getClassLoader(), annotatedTypeMetadata);
+            step.tag("matched", () -> String.valueOf(matched));
+            return matched;
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * @return 是否所有指定的类都存在且所有指定缺失的类都不存在
+     */
+    private boolean matches(ClassLoader classLoader, AnnotatedTypeMetadata annotatedTypeMetadata) {
+        MergedAnnotations annotations = annotatedTypeMetadata.getAnnotations();
+        if (annotations.isPresent(ConditionOnClass.class)) {
+            MergedAnnotation<ConditionOnClass> anno = annotations.get(ConditionOnClass.class);
+            //以类名读取, 避免加载类
+            for (String className : anno.getStringArray("value")) {
+                if (!ClassPresenceCache.isPresent(className, classLoader)) {
+                    return false;
+                }
+            }
+            for (String className : anno.getStringArray("name")) {
+                if (!ClassPresenceCache.isPresent(className, classLoader)) {
+                    return false;
+                }
+            }
+        }
+        if (annotations.isPresent(ConditionOnMissingClass.class)) {
+            MergedAnnotation<ConditionOnMissingClass> anno = annotations.get(ConditionOnMissingClass.class);
+            for (String className : anno.getStringArray("value")) {
+                if (ClassPresenceCache.isPresent(className, classLoader)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
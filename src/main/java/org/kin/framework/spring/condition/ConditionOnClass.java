@@ -0,0 +1,29 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * 仅当所有指定的类都存在于classpath时才匹配
+ * <p>
+ * 若注解在被反射读取的类上, {@link #value()}引用的类缺失会导致注解无法解析, 此时应使用{@link #name()}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(ClassPresenceCondition.class)
+public @interface ConditionOnClass {
+    /**
+     * 必须存在的类
+     */
+    Class<?>[] value() default {};
+
+    /**
+     * 必须存在的类的全限定名
+     */
+    String[] name() default {};
+}
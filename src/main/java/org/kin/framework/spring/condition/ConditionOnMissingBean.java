@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Conditional;
 import java.lang.annotation.*;
 
 /**
+ * 仅当所有指定的bean都缺失时才匹配
+ *
  * @author huangjianqin
  * @date 2020/12/27
  */
@@ -17,4 +19,14 @@ public @interface ConditionOnMissingBean {
      * 缺失的类
      */
     Class<?>[] value() default {};
+
+    /**
+     * 缺失的bean name
+     */
+    String[] name() default {};
+
+    /**
+     * 缺失的bean注解, 即不存在被这些注解标识的bean
+     */
+    Class<? extends Annotation>[] annotation() default {};
 }
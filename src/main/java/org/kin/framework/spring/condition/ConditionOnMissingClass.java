@@ -0,0 +1,22 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.context.annotation.Conditional;
+
+import java.lang.annotation.*;
+
+/**
+ * 仅当所有指定的类都不存在于classpath时才匹配
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(ClassPresenceCondition.class)
+public @interface ConditionOnMissingClass {
+    /**
+     * 缺失的类的全限定名
+     */
+    String[] value() default {};
+}
@@ -0,0 +1,47 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.context.annotation.Conditional;
+import org.springframework.core.annotation.AliasFor;
+
+import java.lang.annotation.*;
+
+/**
+ * 仅当所有指定的property都满足条件时才匹配
+ * <p>
+ * 若{@link #havingValue()}为空, 则property存在且值不为false(忽略大小写)即满足条件, 否则property值需与{@link #havingValue()}相等(忽略大小写)
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(PropertyCondition.class)
+public @interface ConditionOnProperty {
+    /**
+     * {@link #name()}别名
+     */
+    @AliasFor("name")
+    String[] value() default {};
+
+    /**
+     * property名前缀, 若不以'.'结尾, 则自动补上
+     */
+    String prefix() default "";
+
+    /**
+     * property名
+     */
+    @AliasFor("value")
+    String[] name() default {};
+
+    /**
+     * 期望的property值
+     */
+    String havingValue() default "";
+
+    /**
+     * property不存在时是否匹配
+     */
+    boolean matchIfMissing() default false;
+}
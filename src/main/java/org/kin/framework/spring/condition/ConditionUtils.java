@@ -0,0 +1,30 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.core.type.ClassMetadata;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * 条件判断工具类
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+final class ConditionUtils {
+    private ConditionUtils() {
+    }
+
+    /**
+     * @return 被注解的类或者方法描述
+     */
+    static String describe(AnnotatedTypeMetadata annotatedTypeMetadata) {
+        if (annotatedTypeMetadata instanceof ClassMetadata) {
+            return ((ClassMetadata) annotatedTypeMetadata).getClassName();
+        }
+        if (annotatedTypeMetadata instanceof MethodMetadata) {
+            MethodMetadata methodMetadata = (MethodMetadata) annotatedTypeMetadata;
+            return methodMetadata.getDeclaringClassName() + "#" + methodMetadata.getMethodName();
+        }
+        return annotatedTypeMetadata.toString();
+    }
+}
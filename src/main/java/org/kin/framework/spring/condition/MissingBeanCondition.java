@@ -1,15 +1,15 @@
 package org.kin.framework.spring.condition;
 
-import org.kin.framework.utils.CollectionUtils;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.annotation.MergedAnnotation;
 import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotatedTypeMetadata;
 
 import javax.annotation.Nonnull;
-import java.util.Map;
+import java.lang.annotation.Annotation;
 import java.util.Objects;
 
 /**
@@ -20,6 +20,17 @@ import java.util.Objects;
  * @date 2020/12/27
  */
 public class MissingBeanCondition implements Condition {
+    /** 条件判断的startup step name */
+    public static final String STARTUP_STEP = "kin.spring.condition.missing-bean";
+
+    /**
+     * 使{@code beanFactory}的bean查找缓存失效, 下次条件判断时重新查找
+     * 新增, 移除或者以同名bean definition覆盖时会自动失效, 仅直接修改已注册的bean definition(比如bean class)时需手动调用
+     */
+    public static void invalidate(ConfigurableListableBeanFactory beanFactory) {
+        BeanLookupIndex.invalidate(beanFactory);
+    }
+
     @Override
     public boolean matches(@Nonnull ConditionContext conditionContext,
                            @Nonnull AnnotatedTypeMetadata annotatedTypeMetadata) {
@@ -27,13 +38,38 @@ public class MissingBeanCondition implements Condition {
         if (Objects.isNull(beanFactory)) {
             return false;
         }
+        StartupStep step = beanFactory.getApplicationStartup().start(STARTUP_STEP)
+                .tag("element", () -> ConditionUtils.describe(annotatedTypeMetadata));
+        try {
+            boolean matched = matches(beanFactory, annotatedTypeMetadata);
+            step.tag("matched", () -> String.valueOf(matched));
+            return matched;
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * @return 是否所有指定的bean都缺失
+     */
+    private boolean matches(ConfigurableListableBeanFactory beanFactory, AnnotatedTypeMetadata annotatedTypeMetadata) {
         MergedAnnotations annotations = annotatedTypeMetadata.getAnnotations();
         if (annotations.isPresent(ConditionOnMissingBean.class)) {
             MergedAnnotation<ConditionOnMissingBean> anno = annotations.get(ConditionOnMissingBean.class);
-            Class<?>[] missingClasses = anno.getClassArray("value");
-            for (Class<?> missingClass : missingClasses) {
-                Map<String, ?> beans = beanFactory.getBeansOfType(missingClass);
-                if (CollectionUtils.isNonEmpty(beans)) {
+            //仅基于元数据查找, 不会触发bean初始化
+            BeanLookupIndex index = BeanLookupIndex.of(beanFactory);
+            for (String missingBeanName : anno.getStringArray("name")) {
+                if (index.containsBean(missingBeanName)) {
+                    return false;
+                }
+            }
+            for (Class<?> missingClass : anno.getClassArray("value")) {
+                if (index.containsBeanOfType(missingClass)) {
+                    return false;
+                }
+            }
+            for (Class<?> missingAnnotation : anno.getClassArray("annotation")) {
+                if (index.containsBeanWithAnnotation(missingAnnotation.asSubclass(Annotation.class))) {
                     return false;
                 }
             }
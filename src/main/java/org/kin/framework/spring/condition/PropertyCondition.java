@@ -0,0 +1,81 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.Nonnull;
+import java.util.Objects;
+
+/**
+ * {@link ConditionOnProperty}条件过滤
+ * 已解析的property值按environment缓存, 见{@link PropertySnapshot}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class PropertyCondition implements Condition {
+    /** 条件判断的startup step name */
+    public static final String STARTUP_STEP = "kin.spring.condition.property";
+
+    @Override
+    public boolean matches(@Nonnull ConditionContext conditionContext,
+                           @Nonnull AnnotatedTypeMetadata annotatedTypeMetadata) {
+        ConfigurableListableBeanFactory beanFactory = conditionContext.getBeanFactory();
+        ApplicationStartup applicationStartup = Objects.nonNull(beanFactory) ? beanFactory.getApplicationStartup() : ApplicationStartup.DEFAULT;
+        StartupStep step = applicationStartup.start(STARTUP_STEP)
+                .tag("element", () -> ConditionUtils.describe(annotatedTypeMetadata));
+        try {
+            boolean matched = matches(PropertySnapshot.of(conditionContext.getEnvironment()), annotatedTypeMetadata);
+            step.tag("matched", () -> String.valueOf(matched));
+            return matched;
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * @return 是否所有指定的property都满足条件
+     */
+    private boolean matches(PropertySnapshot snapshot, AnnotatedTypeMetadata annotatedTypeMetadata) {
+        MergedAnnotations annotations = annotatedTypeMetadata.getAnnotations();
+        if (!annotations.isPresent(ConditionOnProperty.class)) {
+            return true;
+        }
+        MergedAnnotation<ConditionOnProperty> anno = annotations.get(ConditionOnProperty.class);
+        String prefix = anno.getString("prefix").trim();
+        if (StringUtils.hasText(prefix) && !prefix.endsWith(".")) {
+            prefix = prefix + ".";
+        }
+        String havingValue = anno.getString("havingValue");
+        boolean matchIfMissing = anno.getBoolean("matchIfMissing");
+        for (String name : anno.getStringArray("name")) {
+            String value = snapshot.getProperty(prefix + name);
+            if (Objects.isNull(value)) {
+                if (!matchIfMissing) {
+                    return false;
+                }
+            } else if (!isMatch(value, havingValue)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return property值是否满足条件
+     */
+    private static boolean isMatch(String value, String havingValue) {
+        if (StringUtils.hasLength(havingValue)) {
+            return value.equalsIgnoreCase(havingValue);
+        }
+        return !"false".equalsIgnoreCase(value);
+    }
+}
@@ -0,0 +1,102 @@
+package org.kin.framework.spring.condition;
+
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * property快照, 按environment缓存已解析(包括占位符)的property值, 同一property仅解析一次
+ * <p>
+ * environment的property source增删或者替换时失效, 但不感知property source内部值的变化,
+ * 适用于配置类解析阶段的条件判断. 非{@link ConfigurableEnvironment}无法感知变化, 故不缓存
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+final class PropertySnapshot {
+    /**
+     * key -> environment, 软引用, 以免阻止environment回收.
+     * 不能使用弱引用, 因为entry仅被弱引用持有, 任意一次gc均会回收entry, 导致快照失效
+     */
+    private static final Map<Environment, PropertySnapshot> SNAPSHOTS =
+            new ConcurrentReferenceHashMap<>(16, ConcurrentReferenceHashMap.ReferenceType.SOFT);
+
+    private final Environment environment;
+    /** 构建快照时的property source */
+    private volatile PropertySource<?>[] propertySources = new PropertySource<?>[0];
+    /** key -> property名, value -> 已解析的property值 */
+    private final Map<String, Optional<String>> values = new ConcurrentHashMap<>();
+
+    private PropertySnapshot(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * 获取{@code environment}对应的property快照
+     */
+    static PropertySnapshot of(Environment environment) {
+        if (!(environment instanceof ConfigurableEnvironment)) {
+            return new PropertySnapshot(environment);
+        }
+        PropertySnapshot snapshot = SNAPSHOTS.computeIfAbsent(environment, PropertySnapshot::new);
+        snapshot.invalidateIfChanged();
+        return snapshot;
+    }
+
+    /**
+     * property source增删或者替换, 则清空快照
+     */
+    private void invalidateIfChanged() {
+        MutablePropertySources currentSources = ((ConfigurableEnvironment) environment).getPropertySources();
+        if (isSame(currentSources, propertySources)) {
+            return;
+        }
+        synchronized (this) {
+            if (isSame(currentSources, propertySources)) {
+                return;
+            }
+            values.clear();
+            propertySources = currentSources.stream().toArray(PropertySource<?>[]::new);
+        }
+    }
+
+    /**
+     * @return property source是否与快照一致, 按引用比较
+     */
+    private static boolean isSame(MutablePropertySources currentSources, PropertySource<?>[] snapshotSources) {
+        if (currentSources.size() != snapshotSources.length) {
+            return false;
+        }
+        int i = 0;
+        for (PropertySource<?> propertySource : currentSources) {
+            if (i >= snapshotSources.length || propertySource != snapshotSources[i++]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取property值
+     */
+    @Nullable
+    String getProperty(String name) {
+        if (!(environment instanceof ConfigurableEnvironment)) {
+            return environment.getProperty(name);
+        }
+        Optional<String> value = values.get(name);
+        if (Objects.isNull(value)) {
+            value = Optional.ofNullable(environment.getProperty(name));
+            values.putIfAbsent(name, value);
+        }
+        return value.orElse(null);
+    }
+}
@@ -0,0 +1,224 @@
+package org.kin.framework.spring.startup;
+
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 在内存中记录所有已结束的{@link StartupStep}, 用于分析启动耗时, 需在context refresh前设置
+ * <pre>{@code
+ * context.setApplicationStartup(new RecordingApplicationStartup());
+ * context.addApplicationListener(new StartupReportExporter(Paths.get("startup-report.txt")));
+ * }</pre>
+ * 按线程维护正在执行的step栈, 以确定step的parent. 超过容量后丢弃新结束的step
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ * @see StartupReportExporter
+ */
+public class RecordingApplicationStartup implements ApplicationStartup {
+    /** 默认最多记录的step数量 */
+    private static final int DEFAULT_CAPACITY = 200_000;
+
+    /** 最多记录的step数量 */
+    private final int capacity;
+    /** step id生成器 */
+    private final AtomicLong idGenerator = new AtomicLong();
+    /** 当前线程正在执行的step */
+    private final ThreadLocal<Deque<RecordingStartupStep>> currentSteps = ThreadLocal.withInitial(ConcurrentLinkedDeque::new);
+    /** 已结束的step */
+    private final Queue<RecordingStartupStep> steps = new ConcurrentLinkedQueue<>();
+    /** 已结束的step数量 */
+    private final AtomicInteger stepCount = new AtomicInteger();
+    /** 超过容量而被丢弃的step数量 */
+    private final LongAdder droppedSteps = new LongAdder();
+
+    public RecordingApplicationStartup() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public RecordingApplicationStartup(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity must be greater than 0");
+        this.capacity = capacity;
+    }
+
+    @Nonnull
+    @Override
+    public StartupStep start(@Nonnull String name) {
+        Deque<RecordingStartupStep> stack = currentSteps.get();
+        RecordingStartupStep parent = stack.peekFirst();
+        RecordingStartupStep step = new RecordingStartupStep(this, stack, idGenerator.incrementAndGet(), name,
+                Objects.nonNull(parent) ? parent.getId() : null);
+        stack.addFirst(step);
+        return step;
+    }
+
+    /**
+     * step结束
+     */
+    private void onEnd(RecordingStartupStep step) {
+        //step可能在其他线程结束
+        step.stack.removeFirstOccurrence(step);
+        if (stepCount.incrementAndGet() <= capacity) {
+            steps.add(step);
+        } else {
+            droppedSteps.increment();
+        }
+    }
+
+    /**
+     * @return 已结束的step, 按结束顺序排列
+     */
+    public List<RecordingStartupStep> getSteps() {
+        return new ArrayList<>(steps);
+    }
+
+    /**
+     * @return 超过容量而被丢弃的step数量
+     */
+    public long getDroppedStepCount() {
+        return droppedSteps.sum();
+    }
+
+    /**
+     * 清空已记录的step
+     */
+    public void clear() {
+        steps.clear();
+        stepCount.set(0);
+        droppedSteps.reset();
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 记录耗时和tag的{@link StartupStep}
+     */
+    public static final class RecordingStartupStep implements StartupStep {
+        private final RecordingApplicationStartup startup;
+        /** 开始step的线程的step栈 */
+        private final Deque<RecordingStartupStep> stack;
+        private final long id;
+        private final String name;
+        @Nullable
+        private final Long parentId;
+        private final List<Tag> tags = new ArrayList<>(4);
+        private final long startNanos = System.nanoTime();
+        /** 结束时间(纳秒), 未结束则为0 */
+        private volatile long endNanos;
+
+        private RecordingStartupStep(RecordingApplicationStartup startup, Deque<RecordingStartupStep> stack,
+                                     long id, String name, @Nullable Long parentId) {
+            this.startup = startup;
+            this.stack = stack;
+            this.id = id;
+            this.name = name;
+            this.parentId = parentId;
+        }
+
+        @Nonnull
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Nullable
+        @Override
+        public Long getParentId() {
+            return parentId;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized StartupStep tag(@Nonnull String key, @Nonnull String value) {
+            Assert.state(endNanos == 0, "StartupStep has already ended.");
+            tags.add(new DefaultTag(key, value));
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public StartupStep tag(@Nonnull String key, @Nonnull Supplier<String> value) {
+            return tag(key, value.get());
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Tags getTags() {
+            List<Tag> tags = Collections.unmodifiableList(new ArrayList<>(this.tags));
+            return tags::iterator;
+        }
+
+        @Override
+        public void end() {
+            if (endNanos != 0) {
+                return;
+            }
+            endNanos = System.nanoTime();
+            startup.onEnd(this);
+        }
+
+        /**
+         * @return 耗时(纳秒), 未结束则返回0
+         */
+        public long getDurationNanos() {
+            long endNanos = this.endNanos;
+            return endNanos != 0 ? endNanos - startNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "RecordingStartupStep{" +
+                    "id=" + id +
+                    ", name='" + name + '\'' +
+                    ", parentId=" + parentId +
+                    ", durationNanos=" + getDurationNanos() +
+                    '}';
+        }
+    }
+
+    /**
+     * {@link StartupStep.Tag}实现
+     */
+    private static final class DefaultTag implements StartupStep.Tag {
+        private final String key;
+        private final String value;
+
+        private DefaultTag(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Nonnull
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Nonnull
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
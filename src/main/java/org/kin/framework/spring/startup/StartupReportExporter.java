@@ -0,0 +1,175 @@
+package org.kin.framework.spring.startup;
+
+import org.kin.framework.spring.startup.RecordingApplicationStartup.RecordingStartupStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.util.Assert;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * context refresh后, 将{@link RecordingApplicationStartup}记录的step按名称分组, 输出每组自身耗时最长的step至文件
+ * <p>
+ * 自身耗时即step耗时减去其直接子step耗时, 比如bean实例化(spring.beans.instantiate)的自身耗时不包含其依赖bean的实例化耗时,
+ * 故可用于定位真正拖慢启动的bean和注入点. 分组按组内step自身耗时之和降序排列
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class StartupReportExporter implements ApplicationListener<ContextRefreshedEvent> {
+    private static final Logger log = LoggerFactory.getLogger(StartupReportExporter.class);
+    /** 默认每组输出的step数量 */
+    private static final int DEFAULT_TOP_N = 50;
+
+    /** 报告文件 */
+    private final Path reportFile;
+    /** 每组输出的step数量 */
+    private final int topN;
+
+    public StartupReportExporter(Path reportFile) {
+        this(reportFile, DEFAULT_TOP_N);
+    }
+
+    public StartupReportExporter(Path reportFile, int topN) {
+        Assert.notNull(reportFile, "reportFile must not be null");
+        Assert.isTrue(topN > 0, "topN must be greater than 0");
+        this.reportFile = reportFile;
+        this.topN = topN;
+    }
+
+    @Override
+    public void onApplicationEvent(@Nonnull ContextRefreshedEvent event) {
+        ApplicationContext applicationContext = event.getApplicationContext();
+        if (!(applicationContext instanceof ConfigurableApplicationContext)) {
+            return;
+        }
+        ApplicationStartup applicationStartup = ((ConfigurableApplicationContext) applicationContext).getApplicationStartup();
+        if (!(applicationStartup instanceof RecordingApplicationStartup)) {
+            if (log.isWarnEnabled()) {
+                log.warn("application startup of context '{}' is not a RecordingApplicationStartup, skip startup report",
+                        applicationContext.getId());
+            }
+            return;
+        }
+
+        RecordingApplicationStartup recordingStartup = (RecordingApplicationStartup) applicationStartup;
+        String report = buildReport(recordingStartup.getSteps(), recordingStartup.getDroppedStepCount());
+        try {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            if (Objects.nonNull(parent)) {
+                Files.createDirectories(parent);
+            }
+            Files.write(reportFile, report.getBytes(StandardCharsets.UTF_8));
+            if (log.isInfoEnabled()) {
+                log.info("startup report of context '{}' was written to {}", applicationContext.getId(), reportFile.toAbsolutePath());
+            }
+        } catch (IOException e) {
+            if (log.isWarnEnabled()) {
+                log.warn("write startup report to " + reportFile.toAbsolutePath() + " fail", e);
+            }
+        }
+    }
+
+    /**
+     * 构建报告
+     *
+     * @param steps        已结束的step
+     * @param droppedSteps 被丢弃的step数量
+     */
+    private String buildReport(List<RecordingStartupStep> steps, long droppedSteps) {
+        //key -> parent step id, value -> 直接子step耗时之和
+        Map<Long, Long> childNanos = new HashMap<>(steps.size());
+        for (RecordingStartupStep step : steps) {
+            Long parentId = step.getParentId();
+            if (Objects.nonNull(parentId)) {
+                childNanos.merge(parentId, step.getDurationNanos(), Long::sum);
+            }
+        }
+
+        //key -> step name
+        Map<String, StepGroup> groups = new HashMap<>();
+        for (RecordingStartupStep step : steps) {
+            long selfNanos = Math.max(0, step.getDurationNanos() - childNanos.getOrDefault(step.getId(), 0L));
+            groups.computeIfAbsent(step.getName(), StepGroup::new).add(new StepCost(step, selfNanos));
+        }
+        List<StepGroup> sortedGroups = new ArrayList<>(groups.values());
+        sortedGroups.sort(Comparator.comparingLong((StepGroup g) -> g.selfNanos).reversed());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("# startup report").append(System.lineSeparator());
+        sb.append("steps: ").append(steps.size()).append(", dropped: ").append(droppedSteps).append(System.lineSeparator());
+        for (StepGroup group : sortedGroups) {
+            sb.append(System.lineSeparator());
+            sb.append(String.format("## %s, count: %d, total self: %.3fms, top %d by self time",
+                    group.name, group.costs.size(), toMillis(group.selfNanos), Math.min(topN, group.costs.size())));
+            sb.append(System.lineSeparator());
+            sb.append(String.format("%6s %12s %12s  %s", "rank", "self(ms)", "total(ms)", "tags")).append(System.lineSeparator());
+
+            group.costs.sort(Comparator.comparingLong((StepCost c) -> c.selfNanos).reversed());
+            for (int i = 0; i < Math.min(topN, group.costs.size()); i++) {
+                StepCost cost = group.costs.get(i);
+                sb.append(String.format("%6d %12.3f %12.3f  %s", i + 1, toMillis(cost.selfNanos),
+                        toMillis(cost.step.getDurationNanos()), formatTags(cost.step.getTags())));
+                sb.append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000D;
+    }
+
+    private static String formatTags(StartupStep.Tags tags) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (StartupStep.Tag tag : tags) {
+            joiner.add(tag.getKey() + "=" + tag.getValue());
+        }
+        return joiner.toString();
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 同名step
+     */
+    private static final class StepGroup {
+        private final String name;
+        private final List<StepCost> costs = new ArrayList<>();
+        /** 组内step自身耗时之和 */
+        private long selfNanos;
+
+        private StepGroup(String name) {
+            this.name = name;
+        }
+
+        private void add(StepCost cost) {
+            costs.add(cost);
+            selfNanos += cost.selfNanos;
+        }
+    }
+
+    /**
+     * step及其自身耗时
+     */
+    private static final class StepCost {
+        private final RecordingStartupStep step;
+        private final long selfNanos;
+
+        private StepCost(RecordingStartupStep step, long selfNanos) {
+            this.step = step;
+            this.selfNanos = selfNanos;
+        }
+    }
+}
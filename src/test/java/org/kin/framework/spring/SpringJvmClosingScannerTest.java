@@ -0,0 +1,180 @@
+package org.kin.framework.spring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kin.framework.Closeable;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+class SpringJvmClosingScannerTest {
+    /** 按释放顺序记录的bean name */
+    private static final List<String> CLOSED = new CopyOnWriteArrayList<>();
+
+    public static class Resource implements Closeable {
+        private String name;
+        private Object dep;
+        /** 释放资源耗时(毫秒) */
+        private long closeMillis;
+
+        @Override
+        public void close() {
+            if (closeMillis > 0) {
+                try {
+                    Thread.sleep(closeMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            CLOSED.add(name);
+        }
+
+        //setter
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public void setDep(Object dep) {
+            this.dep = dep;
+        }
+
+        public void setCloseMillis(long closeMillis) {
+            this.closeMillis = closeMillis;
+        }
+    }
+
+    /**
+     * 非Closeable bean, 用于传递依赖关系
+     */
+    public static class Plain {
+        private Object dep;
+
+        //setter
+        public void setDep(Object dep) {
+            this.dep = dep;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        CLOSED.clear();
+    }
+
+    private static GenericApplicationContext context(SpringJvmClosingScanner scanner) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean("springJvmClosingScanner", SpringJvmClosingScanner.class, () -> scanner);
+        return context;
+    }
+
+    /**
+     * 注册名为{@code name}的{@link Resource}, 依赖{@code dep}
+     */
+    private static void registerResource(GenericApplicationContext context, String name, String dep, long closeMillis) {
+        BeanDefinitionBuilder builder = BeanDefinitionBuilder.genericBeanDefinition(Resource.class)
+                .addPropertyValue("name", name)
+                .addPropertyValue("closeMillis", closeMillis);
+        if (dep != null) {
+            builder.addPropertyReference("dep", dep);
+        }
+        context.registerBeanDefinition(name, builder.getBeanDefinition());
+    }
+
+    private static void registerResource(GenericApplicationContext context, String name, String dep) {
+        registerResource(context, name, dep, 0);
+    }
+
+    private static void assertClosedBefore(String first, String second) {
+        int firstIndex = CLOSED.indexOf(first);
+        int secondIndex = CLOSED.indexOf(second);
+        assertTrue(firstIndex >= 0 && secondIndex >= 0 && firstIndex < secondIndex,
+                first + " should be closed before " + second + ": " + CLOSED);
+    }
+
+    @Test
+    void closeDependentsBeforeDependencies() {
+        SpringJvmClosingScanner scanner = new SpringJvmClosingScanner();
+        GenericApplicationContext context = context(scanner);
+        //a -> plain -> b -> c, d独立
+        registerResource(context, "a", "plain");
+        context.registerBeanDefinition("plain", BeanDefinitionBuilder.genericBeanDefinition(Plain.class)
+                .addPropertyReference("dep", "b").getBeanDefinition());
+        registerResource(context, "b", "c");
+        registerResource(context, "c", null);
+        registerResource(context, "d", null);
+        context.refresh();
+
+        context.close();
+        assertEquals(4, CLOSED.size(), CLOSED.toString());
+        assertClosedBefore("a", "b");
+        assertClosedBefore("b", "c");
+        //仅释放一次
+        scanner.close();
+        assertEquals(4, CLOSED.size(), CLOSED.toString());
+    }
+
+    @Test
+    void closeCircularDependenciesInSameWave() {
+        SpringJvmClosingScanner scanner = new SpringJvmClosingScanner();
+        GenericApplicationContext context = context(scanner);
+        //a <-> b, c -> a, d -> c
+        registerResource(context, "a", "b");
+        registerResource(context, "b", "a");
+        registerResource(context, "c", "a");
+        registerResource(context, "d", "c");
+        context.refresh();
+
+        context.close();
+        assertEquals(4, CLOSED.size(), CLOSED.toString());
+        assertClosedBefore("d", "c");
+        assertClosedBefore("c", "a");
+        assertClosedBefore("c", "b");
+    }
+
+    @Test
+    void longDependencyChainClosedInOrder() {
+        SpringJvmClosingScanner scanner = new SpringJvmClosingScanner();
+        GenericApplicationContext context = context(scanner);
+        int count = 500;
+        List<String> expected = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            registerResource(context, "n" + i, i == 0 ? null : "n" + (i - 1));
+            expected.add(0, "n" + i);
+        }
+        context.refresh();
+
+        context.close();
+        assertEquals(expected, CLOSED);
+    }
+
+    @Test
+    void skipRemainingWavesAfterDeadline() {
+        SpringJvmClosingScanner scanner = new SpringJvmClosingScanner();
+        scanner.setCloseTimeout(TimeUnit.SECONDS.toMillis(5));
+        scanner.setCloseDeadline(200);
+        GenericApplicationContext context = context(scanner);
+        registerResource(context, "slow", "fast", TimeUnit.SECONDS.toMillis(2));
+        registerResource(context, "fast", null);
+        context.refresh();
+
+        long startMillis = System.currentTimeMillis();
+        scanner.close();
+        assertTrue(System.currentTimeMillis() - startMillis < TimeUnit.SECONDS.toMillis(2));
+        //slow所在批次超过截止时间, 其依赖的fast不再释放
+        assertFalse(CLOSED.contains("fast"), CLOSED.toString());
+
+        //已释放过, context关闭时不再释放
+        context.close();
+        assertFalse(CLOSED.contains("fast"), CLOSED.toString());
+    }
+}
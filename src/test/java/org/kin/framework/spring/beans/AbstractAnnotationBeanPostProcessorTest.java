@@ -0,0 +1,221 @@
+package org.kin.framework.spring.beans;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.support.GenericApplicationContext;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+class AbstractAnnotationBeanPostProcessorTest {
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 创建包含{@code processor}以及两个prototype bean(holder, holder2)的context, 两者均注入名为a的远程引用
+     */
+    private static GenericApplicationContext context(RemoteAnnotationBeanPostProcessor processor) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean("remoteAnnotationBeanPostProcessor", RemoteAnnotationBeanPostProcessor.class, () -> processor);
+        context.registerBean("holder", RemoteHolder.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+        context.registerBean("holder2", RemoteHolder.class, bd -> bd.setScope(BeanDefinition.SCOPE_PROTOTYPE));
+        return context;
+    }
+
+    /**
+     * 创建{@code parent}的子context, 包含开启与父context共享的{@code processor}以及注入名为a的远程引用的singleton bean(holder)
+     */
+    private static GenericApplicationContext child(GenericApplicationContext parent, RemoteAnnotationBeanPostProcessor processor) {
+        processor.setShareWithParent(true);
+        GenericApplicationContext child = new GenericApplicationContext();
+        child.setParent(parent);
+        child.registerBean("remoteAnnotationBeanPostProcessor", RemoteAnnotationBeanPostProcessor.class, () -> processor);
+        child.registerBean("holder", RemoteHolder.class);
+        child.refresh();
+        return child;
+    }
+
+    /**
+     * 等待{@code condition}成立, 超时则失败
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not satisfied in time");
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * @return 异常链中第一个{@code type}类型的异常
+     */
+    @Nullable
+    private static <T extends Throwable> T findCause(Throwable e, Class<T> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void concurrentInjectionCreatesInjectedObjectOnce() throws Exception {
+        RemoteAnnotationBeanPostProcessor processor = new RemoteAnnotationBeanPostProcessor();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        processor.setFactory(name -> {
+            entered.countDown();
+            release.await();
+            return new RemoteService(name);
+        });
+        try (GenericApplicationContext context = context(processor)) {
+            context.refresh();
+
+            Future<RemoteHolder> first = executor.submit(() -> context.getBean("holder", RemoteHolder.class));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<RemoteHolder> second = executor.submit(() -> context.getBean("holder2", RemoteHolder.class));
+            //第二个线程等待第一个线程的创建结果
+            await(() -> processor.getSingleFlightWaitCount() == 1);
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS).getA(), second.get(5, TimeUnit.SECONDS).getA());
+            assertEquals(1, processor.getCreations());
+            assertEquals(1, processor.getInjectedObjectCreationCount());
+            assertEquals(0, processor.getDuplicateInjectedObjectCreationCount());
+        }
+    }
+
+    @Test
+    void circularInjectionOnSameThreadFailsFast() {
+        RemoteAnnotationBeanPostProcessor processor = new RemoteAnnotationBeanPostProcessor();
+        try (GenericApplicationContext context = context(processor)) {
+            //创建a时又注入a, 若等待自身则永远无法完成
+            processor.setFactory(name -> {
+                context.getBean("holder2");
+                return new RemoteService(name);
+            });
+            context.refresh();
+
+            BeanCreationException e = assertThrows(BeanCreationException.class, () -> context.getBean("holder"));
+            BeanCurrentlyInCreationException cause = findCause(e, BeanCurrentlyInCreationException.class);
+            assertNotNull(cause);
+            assertEquals("holder2", cause.getBeanName());
+            assertTrue(cause.getMessage().contains("key='a'"), cause.getMessage());
+            assertEquals(0, processor.getSingleFlightWaitCount());
+        }
+    }
+
+    @Test
+    void singleFlightWaitTimeoutNamesCacheKey() throws Exception {
+        RemoteAnnotationBeanPostProcessor processor = new RemoteAnnotationBeanPostProcessor();
+        processor.setSingleFlightWaitTimeout(100);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        processor.setFactory(name -> {
+            entered.countDown();
+            release.await();
+            return new RemoteService(name);
+        });
+        try (GenericApplicationContext context = context(processor)) {
+            context.refresh();
+
+            Future<RemoteHolder> first = executor.submit(() -> context.getBean("holder", RemoteHolder.class));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            BeanCreationException e = assertThrows(BeanCreationException.class, () -> context.getBean("holder2"));
+            BeanCreationException timeout = null;
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof BeanCreationException && cause.getCause() instanceof TimeoutException) {
+                    timeout = (BeanCreationException) cause;
+                }
+            }
+            assertNotNull(timeout);
+            assertEquals("holder2", timeout.getBeanName());
+            assertTrue(timeout.getMessage().contains("key='a'"), timeout.getMessage());
+            assertEquals(1, processor.getSingleFlightWaitTimeoutCount());
+
+            //超时不会导致重复创建
+            release.countDown();
+            assertNotNull(first.get(5, TimeUnit.SECONDS).getA());
+            assertSame(first.get().getA(), context.getBean("holder2", RemoteHolder.class).getA());
+            assertEquals(1, processor.getCreations());
+        }
+    }
+
+    @Test
+    void childrenShareInjectedObjectUntilLastContextClosed() {
+        RemoteAnnotationBeanPostProcessor parentProcessor = new RemoteAnnotationBeanPostProcessor();
+        GenericApplicationContext parent = context(parentProcessor);
+        parent.refresh();
+        RemoteAnnotationBeanPostProcessor processor1 = new RemoteAnnotationBeanPostProcessor();
+        GenericApplicationContext child1 = child(parent, processor1);
+        //异步注入同样向父context processor借用
+        RemoteAnnotationBeanPostProcessor processor2 = new RemoteAnnotationBeanPostProcessor();
+        processor2.setAsyncInjection(true);
+        GenericApplicationContext child2 = child(parent, processor2);
+
+        RemoteService shared = child1.getBean(RemoteHolder.class).getA();
+        assertSame(shared, child2.getBean(RemoteHolder.class).getA());
+        //父context processor不会替子context创建被注入对象
+        assertEquals(0, parentProcessor.getCreations());
+        assertEquals(1, processor1.getCreations());
+        assertEquals(0, processor2.getCreations());
+        assertEquals(1, parentProcessor.getSharedInjectedObjectCount());
+        assertEquals(1, processor2.getBorrowedInjectedObjectCount());
+
+        //仍被子context引用, 父context关闭也不会销毁
+        parent.close();
+        assertFalse(shared.isDestroyed());
+        child1.close();
+        assertFalse(shared.isDestroyed());
+        child2.close();
+        assertTrue(shared.isDestroyed());
+    }
+
+    @Test
+    void sharedInjectedObjectDestroyedWhenLastChildReturnsIt() {
+        RemoteAnnotationBeanPostProcessor parentProcessor = new RemoteAnnotationBeanPostProcessor();
+        try (GenericApplicationContext parent = context(parentProcessor)) {
+            parent.refresh();
+            GenericApplicationContext child1 = child(parent, new RemoteAnnotationBeanPostProcessor());
+            GenericApplicationContext child2 = child(parent, new RemoteAnnotationBeanPostProcessor());
+            RemoteService shared = child1.getBean(RemoteHolder.class).getA();
+            assertSame(shared, child2.getBean(RemoteHolder.class).getA());
+
+            child1.close();
+            assertFalse(shared.isDestroyed());
+            assertEquals(1, parentProcessor.getSharedInjectedObjectCount());
+            child2.close();
+            assertTrue(shared.isDestroyed());
+            assertEquals(0, parentProcessor.getSharedInjectedObjectCount());
+
+            //归还后新的子context重新创建
+            RemoteAnnotationBeanPostProcessor processor3 = new RemoteAnnotationBeanPostProcessor();
+            try (GenericApplicationContext child3 = child(parent, processor3)) {
+                assertNotSame(shared, child3.getBean(RemoteHolder.class).getA());
+                assertEquals(1, processor3.getCreations());
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.kin.framework.spring.beans;
+
+import org.junit.jupiter.api.Test;
+import org.kin.framework.spring.beans.InjectionPointIndex.IndexedMembers;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.lang.annotation.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 索引文件见test resources下的{@link InjectionPointIndex#INDEX_LOCATION}
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+class InjectionPointIndexTest {
+    /**
+     * 未被索引的注解, 同时处理该注解的processor无法使用索引, 即回退到反射扫描
+     */
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Local {
+        String value();
+    }
+
+    static class IndexedBaseBean {
+        @Remote("base")
+        RemoteService base;
+    }
+
+    static class IndexedBean extends IndexedBaseBean {
+        @Remote("a")
+        private RemoteService a;
+        private RemoteService b;
+        private RemoteService plain;
+
+        @Remote("b")
+        public void setB(RemoteService b) {
+            this.b = b;
+        }
+
+        public void setPlain(RemoteService plain) {
+            this.plain = plain;
+        }
+    }
+
+    static class PlainBean {
+        private RemoteService plain;
+    }
+
+    @Test
+    void indexListsReflectivelyAnnotatedMembers() {
+        InjectionPointIndex index = InjectionPointIndex.load(getClass().getClassLoader());
+        for (Class<?> clazz : Arrays.asList(IndexedBaseBean.class, IndexedBean.class, PlainBean.class)) {
+            IndexedMembers members = index.getMembers(clazz, Collections.singleton(Remote.class));
+            assertNotNull(members, clazz.getName());
+            for (Field field : clazz.getDeclaredFields()) {
+                assertEquals(field.isAnnotationPresent(Remote.class), members.containsField(field.getName()), field.toString());
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                assertEquals(method.isAnnotationPresent(Remote.class), members.containsMethod(method.getName()), method.toString());
+            }
+        }
+        assertTrue(index.getMembers(PlainBean.class, Collections.singleton(Remote.class)).isEmpty());
+        //索引没有覆盖所有注解, 或者class没有被索引
+        assertNull(index.getMembers(IndexedBean.class, Arrays.asList(Remote.class, Local.class)));
+        assertNull(index.getMembers(RemoteHolder.class, Collections.singleton(Remote.class)));
+    }
+
+    @Test
+    void indexedInjectionEqualsReflectiveInjection() {
+        RemoteAnnotationBeanPostProcessor indexed = new RemoteAnnotationBeanPostProcessor();
+        RemoteAnnotationBeanPostProcessor scanned = new RemoteAnnotationBeanPostProcessor(Remote.class, Local.class);
+        try (GenericApplicationContext indexedContext = context(indexed);
+             GenericApplicationContext scannedContext = context(scanned)) {
+            IndexedBean indexedBean = indexedContext.getBean(IndexedBean.class);
+            IndexedBean scannedBean = scannedContext.getBean(IndexedBean.class);
+            assertEquals("a", indexedBean.a.getName());
+            assertEquals("b", indexedBean.b.getName());
+            assertEquals("base", indexedBean.base.getName());
+            assertNull(indexedBean.plain);
+            assertEquals(scannedBean.a.getName(), indexedBean.a.getName());
+            assertEquals(scannedBean.b.getName(), indexedBean.b.getName());
+            assertEquals(scannedBean.base.getName(), indexedBean.base.getName());
+            assertNull(scannedBean.plain);
+            assertNull(indexedContext.getBean(PlainBean.class).plain);
+            assertNull(scannedContext.getBean(PlainBean.class).plain);
+            assertEquals(scanned.getCreations(), indexed.getCreations());
+        }
+    }
+
+    private static GenericApplicationContext context(RemoteAnnotationBeanPostProcessor processor) {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.registerBean("remoteAnnotationBeanPostProcessor", RemoteAnnotationBeanPostProcessor.class, () -> processor);
+        context.registerBean(IndexedBean.class);
+        context.registerBean(PlainBean.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,17 @@
+package org.kin.framework.spring.beans;
+
+import java.lang.annotation.*;
+
+/**
+ * 测试用远程引用注解, 由{@link RemoteAnnotationBeanPostProcessor}处理
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Remote {
+    /** 远程服务名 */
+    String value();
+}
@@ -0,0 +1,69 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.beans.factory.annotation.InjectionMetadata;
+import org.springframework.core.annotation.AnnotationAttributes;
+
+import java.lang.annotation.Annotation;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试用{@link AbstractAnnotationBeanPostProcessor}实现, 处理{@link Remote}注入, 以注解value作为缓存key
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class RemoteAnnotationBeanPostProcessor extends AbstractAnnotationBeanPostProcessor {
+    /** 调用{@link #doGetInjectedBean}的次数 */
+    private final AtomicInteger creations = new AtomicInteger();
+    /** 自定义被注入对象创建逻辑, null则直接创建{@link RemoteService} */
+    private volatile RemoteFactory factory;
+
+    public RemoteAnnotationBeanPostProcessor() {
+        this(Remote.class);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public RemoteAnnotationBeanPostProcessor(Class<? extends Annotation>... annotationTypes) {
+        super(annotationTypes);
+    }
+
+    @Override
+    protected Object doGetInjectedBean(AnnotationAttributes attributes, Object bean, String beanName, Class<?> injectedType,
+                                       InjectionMetadata.InjectedElement injectedElement) throws Exception {
+        creations.incrementAndGet();
+        String name = attributes.getString("value");
+        RemoteFactory factory = this.factory;
+        return Objects.nonNull(factory) ? factory.create(name) : new RemoteService(name);
+    }
+
+    @Override
+    protected String buildInjectedObjectCacheKey(AnnotationAttributes attributes, Object bean, String beanName,
+                                                 Class<?> injectedType, InjectionMetadata.InjectedElement injectedElement) {
+        return attributes.getString("value");
+    }
+
+    //setter && getter
+    public void setFactory(RemoteFactory factory) {
+        this.factory = factory;
+    }
+
+    public int getCreations() {
+        return creations.get();
+    }
+
+    //----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * 被注入对象创建逻辑
+     */
+    @FunctionalInterface
+    public interface RemoteFactory {
+        /**
+         * @param name 远程服务名
+         * @return 被注入对象
+         */
+        Object create(String name) throws Exception;
+    }
+}
@@ -0,0 +1,17 @@
+package org.kin.framework.spring.beans;
+
+/**
+ * 测试用bean, 注入名为a的远程引用
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class RemoteHolder {
+    @Remote("a")
+    private RemoteService a;
+
+    //getter
+    public RemoteService getA() {
+        return a;
+    }
+}
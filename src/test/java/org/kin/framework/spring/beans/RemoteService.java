@@ -0,0 +1,41 @@
+package org.kin.framework.spring.beans;
+
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * 测试用远程引用, 即被注入对象
+ *
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+public class RemoteService implements DisposableBean {
+    /** 远程服务名 */
+    private final String name;
+    /** 是否已销毁 */
+    private volatile boolean destroyed;
+
+    public RemoteService(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+    }
+
+    //getter
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDestroyed() {
+        return destroyed;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteService{" +
+                "name='" + name + '\'' +
+                '}';
+    }
+}
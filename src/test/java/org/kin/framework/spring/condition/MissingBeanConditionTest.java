@@ -0,0 +1,169 @@
+package org.kin.framework.spring.condition;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author huangjianqin
+ * @date 2026/10/16
+ */
+class MissingBeanConditionTest {
+    /** {@link Impl}实例化次数 */
+    private static final AtomicInteger IMPL_CREATIONS = new AtomicInteger();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Marker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface FactoryMarker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Absent {
+    }
+
+    public interface Service {
+    }
+
+    @Marker
+    public static class Impl implements Service {
+        public Impl() {
+            IMPL_CREATIONS.incrementAndGet();
+        }
+    }
+
+    public static class Plain {
+    }
+
+    @Configuration
+    public static class ExistingConfiguration {
+        @Bean(name = {"impl", "implAlias"})
+        @Lazy
+        public Impl impl() {
+            return new Impl();
+        }
+
+        @Bean
+        @FactoryMarker
+        public Plain plain() {
+            return new Plain();
+        }
+    }
+
+    @Configuration
+    public static class ConditionalConfiguration {
+        @Bean
+        @ConditionOnMissingBean(Service.class)
+        public String byType() {
+            return "byType";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(Runnable.class)
+        public String byAbsentType() {
+            return "byAbsentType";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(name = "impl")
+        public String byName() {
+            return "byName";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(name = "implAlias")
+        public String byAlias() {
+            return "byAlias";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(name = "absent")
+        public String byAbsentName() {
+            return "byAbsentName";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(annotation = Marker.class)
+        public String byClassAnnotation() {
+            return "byClassAnnotation";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(annotation = FactoryMarker.class)
+        public String byFactoryMethodAnnotation() {
+            return "byFactoryMethodAnnotation";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(annotation = Absent.class)
+        public String byAbsentAnnotation() {
+            return "byAbsentAnnotation";
+        }
+
+        @Bean
+        @ConditionOnMissingBean(name = "absent", annotation = Marker.class)
+        public String byAbsentNameAndExistingAnnotation() {
+            return "byAbsentNameAndExistingAnnotation";
+        }
+    }
+
+    @Test
+    void matchOnlyWhenTypeNameAndAnnotationAllMissing() {
+        IMPL_CREATIONS.set(0);
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(ExistingConfiguration.class, ConditionalConfiguration.class)) {
+            assertFalse(context.containsBean("byType"));
+            assertTrue(context.containsBean("byAbsentType"));
+            assertFalse(context.containsBean("byName"));
+            assertFalse(context.containsBean("byAlias"));
+            assertTrue(context.containsBean("byAbsentName"));
+            assertFalse(context.containsBean("byClassAnnotation"));
+            assertFalse(context.containsBean("byFactoryMethodAnnotation"));
+            assertTrue(context.containsBean("byAbsentAnnotation"));
+            assertFalse(context.containsBean("byAbsentNameAndExistingAnnotation"));
+            //仅基于bean definition元数据判断, 不会初始化lazy bean
+            assertEquals(0, IMPL_CREATIONS.get());
+        }
+    }
+
+    @Test
+    void lookupIndexSeesOverrideRemovalAndSingletons() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("bean", new RootBeanDefinition(Plain.class));
+        BeanLookupIndex index = BeanLookupIndex.of(beanFactory);
+        assertTrue(index.containsBeanOfType(Plain.class));
+        assertFalse(index.containsBeanOfType(Service.class));
+        assertFalse(index.containsBeanWithAnnotation(Marker.class));
+
+        //同名覆盖, bean definition数量不变
+        beanFactory.registerBeanDefinition("bean", new RootBeanDefinition(Impl.class));
+        assertFalse(index.containsBeanOfType(Plain.class));
+        assertTrue(index.containsBeanOfType(Service.class));
+        assertTrue(index.containsBeanWithAnnotation(Marker.class));
+
+        //移除后再以其他名称注册, bean definition数量不变
+        beanFactory.removeBeanDefinition("bean");
+        beanFactory.registerBeanDefinition("other", new RootBeanDefinition(Plain.class));
+        assertFalse(index.containsBeanOfType(Service.class));
+        assertFalse(index.containsBeanWithAnnotation(Marker.class));
+        assertTrue(index.containsBean("other"));
+        assertFalse(index.containsBean("bean"));
+
+        //手动注册singleton
+        beanFactory.registerSingleton("singleton", new Impl());
+        assertTrue(index.containsBeanOfType(Service.class));
+        assertTrue(index.containsBeanWithAnnotation(Marker.class));
+    }
+}